@@ -0,0 +1,72 @@
+package me.hanju.branchdown.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import me.hanju.branchdown.config.IntArrayConverter;
+import me.hanju.branchdown.config.PackedIntArrayConverter;
+
+/**
+ * int 배열 컬럼 저장 형식(text/packed)별 인코딩/디코딩 마이크로벤치마크
+ *
+ * <pre>
+ * ./gradlew jmh -PjmhIncludes=IntArrayEncodingBenchmark
+ * </pre>
+ *
+ * <p>{@code length}는 배열 길이(분기 수 또는 경로 깊이), {@code maxValue}는 branchNum의 상한입니다.
+ * 호출당 할당량은 gc 프로파일러의 {@code gc.alloc.rate.norm}으로 확인합니다.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IntArrayEncodingBenchmark {
+
+  @Param({ "1", "8", "64" })
+  private int length;
+
+  @Param({ "100", "100000" })
+  private int maxValue;
+
+  private final IntArrayConverter text = new IntArrayConverter();
+  private final PackedIntArrayConverter packed = new PackedIntArrayConverter();
+
+  private int[] values;
+  private String textColumn;
+  private byte[] packedColumn;
+
+  @Setup
+  public void setUp() {
+    values = new Random(42).ints(length, 0, maxValue).toArray();
+    textColumn = text.convertToDatabaseColumn(values);
+    packedColumn = packed.convertToDatabaseColumn(values);
+  }
+
+  @Benchmark
+  public String encodeText() {
+    return text.convertToDatabaseColumn(values);
+  }
+
+  @Benchmark
+  public byte[] encodePacked() {
+    return packed.convertToDatabaseColumn(values);
+  }
+
+  @Benchmark
+  public int[] decodeText() {
+    return text.convertToEntityAttribute(textColumn);
+  }
+
+  @Benchmark
+  public int[] decodePacked() {
+    return packed.convertToEntityAttribute(packedColumn);
+  }
+}
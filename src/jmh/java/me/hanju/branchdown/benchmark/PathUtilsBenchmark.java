@@ -0,0 +1,71 @@
+package me.hanju.branchdown.benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import me.hanju.branchdown.util.PathUtils;
+
+/**
+ * {@link PathUtils} 파싱/직렬화 마이크로벤치마크
+ *
+ * <pre>
+ * ./gradlew jmh -PjmhIncludes=PathUtilsBenchmark
+ * </pre>
+ *
+ * <p>{@code *Stream} 벤치마크는 split/Stream을 사용하던 이전 구현으로, 비교 기준입니다.
+ * {@code length}는 경로 깊이 또는 분기 수입니다.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PathUtilsBenchmark {
+
+  @Param({ "1", "8", "64" })
+  private int length;
+
+  private int[] values;
+  private String path;
+
+  @Setup
+  public void setUp() {
+    values = new Random(42).ints(length, 0, 10_000).toArray();
+    path = PathUtils.format(values);
+  }
+
+  @Benchmark
+  public int[] parse() {
+    return PathUtils.parse(path);
+  }
+
+  @Benchmark
+  public int[] parseStream() {
+    return Arrays.stream(path.split(",")).mapToInt(Integer::parseInt).toArray();
+  }
+
+  @Benchmark
+  public String format() {
+    return PathUtils.format(values);
+  }
+
+  @Benchmark
+  public String formatStream() {
+    return IntStream.of(values).mapToObj(String::valueOf).collect(Collectors.joining(","));
+  }
+
+  @Benchmark
+  public String append() {
+    return PathUtils.append(path, length);
+  }
+}
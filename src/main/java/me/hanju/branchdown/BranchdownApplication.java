@@ -2,10 +2,12 @@ package me.hanju.branchdown;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
 @SpringBootApplication
-@EnableJpaAuditing
+@ConfigurationPropertiesScan
+@EnableJpaAuditing(dateTimeProviderRef = "auditingDateTimeProvider")
 public class BranchdownApplication {
   public static void main(String[] args) {
     SpringApplication.run(BranchdownApplication.class, args);
@@ -0,0 +1,24 @@
+package me.hanju.branchdown.config;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.auditing.DateTimeProvider;
+
+/**
+ * JPA Auditing 설정
+ *
+ * <p>생성 시각을 created_at 컬럼의 정밀도(마이크로초)로 잘라, 저장 직후의 응답과 캐시된 값이
+ * 이후 DB에서 읽은 값과 같도록 합니다.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+public class AuditingConfig {
+
+  @Bean
+  public DateTimeProvider auditingDateTimeProvider() {
+    return () -> Optional.of(Instant.now().truncatedTo(ChronoUnit.MICROS));
+  }
+}
@@ -0,0 +1,154 @@
+package me.hanju.branchdown.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * 애플리케이션 설정 (branchdown.*)
+ *
+ * @param pathQuery   경로 조회 설정
+ * @param export      포인트 내보내기 설정
+ * @param cache       인메모리 캐시 설정
+ * @param storage     저장 형식 설정
+ * @param writeQueue  스트림별 쓰기 큐 설정
+ * @param readReplica 읽기 전용 복제본 설정
+ * @param deletion    스트림 삭제 설정
+ * @param streamPool  빈 스트림 풀 설정
+ */
+@ConfigurationProperties("branchdown")
+public record BranchdownProperties(
+    @DefaultValue PathQuery pathQuery,
+    @DefaultValue Export export,
+    @DefaultValue Cache cache,
+    @DefaultValue Storage storage,
+    @DefaultValue WriteQueue writeQueue,
+    @DefaultValue ReadReplica readReplica,
+    @DefaultValue Deletion deletion,
+    @DefaultValue StreamPool streamPool) {
+
+  /**
+   * 경로 조회 설정
+   *
+   * @param mode 경로 조회 방식 (기본값 {@link PathQueryMode#RANGE})
+   */
+  public record PathQuery(@DefaultValue("range") PathQueryMode mode) {
+  }
+
+  /**
+   * 포인트 내보내기 설정
+   *
+   * @param fetchSize 내보내기 조회 시 JDBC 드라이버가 한 번에 가져올 행 수 (기본값 500)
+   */
+  public record Export(@DefaultValue("500") int fetchSize) {
+  }
+
+  /**
+   * 인메모리 캐시 설정
+   *
+   * @param branchPathSize     브랜치 경로 캐시의 최대 항목 수 (기본값 10000)
+   * @param ancestorsEnabled   조상 목록 캐시 사용 여부 (기본값 false)
+   * @param ancestorsMaxWeight 조상 목록 캐시의 최대 크기 추정치 (기본값 64MB)
+   */
+  public record Cache(
+      @DefaultValue("10000") long branchPathSize,
+      @DefaultValue("false") boolean ancestorsEnabled,
+      @DefaultValue("64MB") DataSize ancestorsMaxWeight) {
+  }
+
+  /**
+   * 저장 형식 설정
+   *
+   * @param intArrayFormat 브랜치 path와 포인트 childBranchNums의 컬럼 형식 (기본값 {@link IntArrayFormat#TEXT})
+   */
+  public record Storage(@DefaultValue("text") IntArrayFormat intArrayFormat) {
+  }
+
+  /**
+   * 스트림별 쓰기 큐 설정
+   *
+   * @param enabled      pointDown을 스트림별 단일 작성자 큐로 모아 처리할지 여부 (기본값 false)
+   * @param maxBatchSize 한 트랜잭션으로 묶을 최대 요청 수 (기본값 100)
+   * @param timeout      호출 스레드가 자신의 요청이 처리되기를 기다리는 최대 시간 (기본값 30초)
+   */
+  public record WriteQueue(
+      @DefaultValue("false") boolean enabled,
+      @DefaultValue("100") int maxBatchSize,
+      @DefaultValue("30s") Duration timeout) {
+  }
+
+  /**
+   * 읽기 전용 복제본 설정 (config.ReadReplicaConfig 참조)
+   *
+   * @param urls                 읽기 전용 트랜잭션을 보낼 복제본 JDBC URL 목록 (비어 있으면 모든 작업을 기본 DataSource에서 처리)
+   * @param username             복제본 사용자 (기본값은 기본 DataSource와 같음)
+   * @param password             복제본 비밀번호 (기본값은 기본 DataSource와 같음)
+   * @param selection            복제본 선택 방식 (기본값 {@link ReplicaSelection#ROUND_ROBIN})
+   * @param readYourWritesWindow 쓰기 요청 후 같은 클라이언트의 조회를 기본 DataSource로 보내는 시간 (기본값 5초)
+   */
+  public record ReadReplica(
+      @DefaultValue List<String> urls,
+      String username,
+      String password,
+      @DefaultValue("round-robin") ReplicaSelection selection,
+      @DefaultValue("5s") Duration readYourWritesWindow) {
+  }
+
+  /**
+   * 스트림 삭제 설정 (service.StreamPurger 참조)
+   *
+   * @param async         삭제 표시 후 바로 응답하고 정리는 백그라운드에서 할지 여부 (기본값 false)
+   * @param chunkSize     한 트랜잭션에서 지울 최대 포인트 수 (기본값 1000)
+   * @param sweepInterval 정리되지 않고 남은 삭제 표시 스트림을 찾는 주기 (기본값 1분)
+   */
+  public record Deletion(
+      @DefaultValue("false") boolean async,
+      @DefaultValue("1000") int chunkSize,
+      @DefaultValue("1m") Duration sweepInterval) {
+  }
+
+  /**
+   * 빈 스트림 풀 설정 (service.StreamPool 참조)
+   *
+   * @param enabled 미리 만들어 둔 빈 스트림으로 스트림 생성 요청에 응답할지 여부 (기본값 false)
+   * @param size    인스턴스마다 유지할 빈 스트림 수, 절반 이하로 줄면 다시 채움 (기본값 100)
+   */
+  public record StreamPool(
+      @DefaultValue("false") boolean enabled,
+      @DefaultValue("100") int size) {
+  }
+
+  /** 브랜치 경로로 포인트를 조회하는 방식 */
+  public enum PathQueryMode {
+    /** depth별 최대 branchNum을 모두 가져와 Java에서 절삭 */
+    LEGACY,
+    /** 윈도우 함수로 DB에서 절삭하여 경로상의 포인트만 가져옴 */
+    WINDOW,
+    /** 브랜치별 분기 depth로 구한 (branchNum, depth 구간)을 범위 스캔하여 경로상의 포인트만 가져옴 */
+    RANGE
+  }
+
+  /**
+   * int 배열 컬럼(branches.path, points.child_branch_nums)의 저장 형식
+   *
+   * <p>{@code spring.jpa.mapping-resources}(META-INF/orm-*.xml)와 Liquibase 변경(0005)이 같은 값을 사용합니다.
+   * {@link #PACKED}로 전환하면 기존 데이터가 변환되며 되돌릴 수 없습니다.</p>
+   */
+  public enum IntArrayFormat {
+    /** 쉼표로 구분된 문자열 (VARCHAR) */
+    TEXT,
+    /** varint를 이어 붙인 바이트 배열 (VARBINARY/bytea) */
+    PACKED
+  }
+
+  /** 읽기 전용 트랜잭션을 보낼 복제본을 고르는 방식 */
+  public enum ReplicaSelection {
+    /** 복제본을 차례대로 사용 */
+    ROUND_ROBIN,
+    /** 사용 중인 커넥션과 커넥션 대기 스레드가 가장 적은 복제본을 사용 (같으면 차례대로) */
+    LEAST_LOADED
+  }
+}
@@ -0,0 +1,32 @@
+package me.hanju.branchdown.config;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import me.hanju.branchdown.util.VarInts;
+
+/**
+ * int 배열을 varint 바이트 배열로 변환하는 JPA Converter
+ *
+ * <p>{@code branchdown.storage.int-array-format=packed}일 때 {@link IntArrayConverter} 대신 사용됩니다
+ * (META-INF/orm-packed.xml).</p>
+ */
+@Converter
+public class PackedIntArrayConverter implements AttributeConverter<int[], byte[]> {
+
+  @Override
+  public byte[] convertToDatabaseColumn(int[] attribute) {
+    return attribute == null ? null : VarInts.encode(attribute);
+  }
+
+  @Override
+  public int[] convertToEntityAttribute(byte[] dbData) {
+    if (dbData == null) {
+      return null;
+    }
+    try {
+      return VarInts.decode(dbData);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalStateException("Invalid packed int array in database", e);
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package me.hanju.branchdown.config;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import me.hanju.branchdown.util.PathUtils;
+import me.hanju.branchdown.util.VarInts;
+
+/**
+ * 쉼표로 구분된 path 문자열을 varint 바이트 배열로 변환하는 JPA Converter
+ *
+ * <p>{@code branchdown.storage.int-array-format=packed}일 때 브랜치 path 컬럼에 사용됩니다
+ * (META-INF/orm-packed.xml). 엔티티는 문자열을 그대로 다루므로 저장 형식과 무관하게 같은 코드로 동작합니다.</p>
+ */
+@Converter
+public class PackedPathConverter implements AttributeConverter<String, byte[]> {
+
+  @Override
+  public byte[] convertToDatabaseColumn(String attribute) {
+    return attribute == null ? null : VarInts.encode(PathUtils.parse(attribute));
+  }
+
+  @Override
+  public String convertToEntityAttribute(byte[] dbData) {
+    if (dbData == null) {
+      return null;
+    }
+    try {
+      return PathUtils.format(VarInts.decode(dbData));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalStateException("Invalid packed path in database", e);
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package me.hanju.branchdown.config;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * pooled 방식으로 미리 할당받은 범위에서 ID를 채번하도록 지정하는 어노테이션
+ *
+ * <p>채번 방식과 할당 크기는 {@link PooledIdGenerator}가 Hibernate 설정에서 읽습니다.</p>
+ */
+@IdGeneratorType(PooledIdGenerator.class)
+@Retention(RUNTIME)
+@Target({ FIELD, METHOD })
+public @interface PooledId {
+
+  /** 시퀀스 이름 (테이블 방식일 경우 테이블 이름) */
+  String value();
+}
@@ -0,0 +1,96 @@
+package me.hanju.branchdown.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.util.StringUtils;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * 읽기 전용 복제본 라우팅 설정 ({@code branchdown.read-replica.urls}를 지정한 경우에만 사용)
+ *
+ * <p>Spring Boot가 만든 기본 DataSource를 {@link ReplicaRoutingDataSource}로 감싸므로, 기본 DataSource 설정
+ * (Testcontainers, {@code spring.datasource.*})은 그대로 적용됩니다. 복제본 커넥션 풀은 기본 풀의 크기와 타임아웃을
+ * 따르고 {@code replica-1}, {@code replica-2} ... 이름으로 {@code hikaricp.*} 메트릭을 남깁니다.
+ * 스키마 마이그레이션(Liquibase)은 기본 DataSource에만 적용되며, 복제본은 DB 복제로 따라간다고 가정합니다.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnExpression("!'${branchdown.read-replica.urls:}'.isBlank()")
+public class ReadReplicaConfig {
+
+  @Bean
+  static BeanPostProcessor replicaRoutingDataSourcePostProcessor(ObjectProvider<BranchdownProperties> properties) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource primary && !(bean instanceof ReplicaRoutingDataSource)) {
+          BranchdownProperties.ReadReplica settings = properties.getObject().readReplica();
+          return new ReplicaRoutingDataSource(primary, replicas(primary, settings), settings.selection());
+        }
+        return bean;
+      }
+    };
+  }
+
+  @Bean
+  ReadYourWritesFilter readYourWritesFilter(BranchdownProperties properties) {
+    return new ReadYourWritesFilter(properties.readReplica().readYourWritesWindow());
+  }
+
+  /** 비동기 작업(스트리밍 응답 등)에 요청 스레드의 {@link ReadYourWrites} 표시를 전달 */
+  @Bean
+  TaskDecorator readYourWritesTaskDecorator() {
+    return ReadYourWrites::wrap;
+  }
+
+  /** 복제본 커넥션 풀의 hikaricp.* 메트릭 (풀은 첫 조회 시 시작되므로 그 전에 등록) */
+  @Bean
+  MeterBinder replicaPoolMetrics(DataSource dataSource) {
+    return registry -> {
+      if (dataSource instanceof ReplicaRoutingDataSource routing) {
+        routing.getReplicas().forEach(replica ->
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+      }
+    };
+  }
+
+  private static List<HikariDataSource> replicas(DataSource primary, BranchdownProperties.ReadReplica settings) {
+    List<HikariDataSource> replicas = new ArrayList<>();
+    for (String url : settings.urls()) {
+      HikariDataSource replica = new HikariDataSource();
+      if (primary instanceof HikariDataSource pool) {
+        if (pool.getMaximumPoolSize() > 0) {
+          replica.setMaximumPoolSize(pool.getMaximumPoolSize());
+        }
+        if (pool.getMinimumIdle() >= 0) {
+          replica.setMinimumIdle(pool.getMinimumIdle());
+        }
+        replica.setConnectionTimeout(pool.getConnectionTimeout());
+        replica.setIdleTimeout(pool.getIdleTimeout());
+        replica.setMaxLifetime(pool.getMaxLifetime());
+        replica.setValidationTimeout(pool.getValidationTimeout());
+      }
+      replica.setPoolName("replica-" + (replicas.size() + 1));
+      replica.setJdbcUrl(url.trim());
+      if (StringUtils.hasText(settings.username())) {
+        replica.setUsername(settings.username());
+        replica.setPassword(settings.password());
+      }
+      replica.setReadOnly(true);
+      replicas.add(replica);
+    }
+    return replicas;
+  }
+}
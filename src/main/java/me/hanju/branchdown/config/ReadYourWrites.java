@@ -0,0 +1,51 @@
+package me.hanju.branchdown.config;
+
+/**
+ * 현재 스레드의 조회를 기본 DataSource로 보낼지 여부
+ *
+ * <p>{@link ReadYourWritesFilter}가 최근에 쓰기를 한 클라이언트의 요청 동안 표시하며,
+ * {@link ReplicaRoutingDataSource}는 표시된 스레드의 읽기 전용 트랜잭션도 복제 지연이 없는 기본 DataSource에서 처리합니다.
+ * 비동기 작업(스트리밍 응답 등)에는 {@link #wrap(Runnable)}으로 전달합니다.</p>
+ */
+public final class ReadYourWrites {
+
+  private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+  private ReadYourWrites() {
+  }
+
+  /** 현재 스레드의 조회를 기본 DataSource로 보냅니다. */
+  public static void pin() {
+    PINNED.set(Boolean.TRUE);
+  }
+
+  /** 표시를 지웁니다. */
+  public static void clear() {
+    PINNED.remove();
+  }
+
+  /** 현재 스레드의 조회를 기본 DataSource로 보내야 하는지 여부 */
+  public static boolean isPinned() {
+    return PINNED.get() != null;
+  }
+
+  /**
+   * 현재 스레드의 표시를 작업을 실행하는 스레드로 전달합니다.
+   *
+   * @param task 다른 스레드에서 실행할 작업
+   * @return 실행하는 동안 같은 표시를 유지하는 작업
+   */
+  public static Runnable wrap(Runnable task) {
+    if (!isPinned()) {
+      return task;
+    }
+    return () -> {
+      pin();
+      try {
+        task.run();
+      } finally {
+        clear();
+      }
+    };
+  }
+}
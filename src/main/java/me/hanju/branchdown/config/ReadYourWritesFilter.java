@@ -0,0 +1,63 @@
+package me.hanju.branchdown.config;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 쓰기 직후의 조회가 복제 지연으로 이전 데이터를 읽지 않도록 하는 필터
+ *
+ * <p>쓰기 요청(GET/HEAD/OPTIONS 외)의 응답에 요청 시각(epoch ms)을 {@value #HEADER} 헤더로 내려주고,
+ * 이 헤더를 그대로 되돌려 보낸 요청은 그 시각부터 {@code read-your-writes-window} 동안 {@link ReadYourWrites}로 표시하여
+ * 기본 DataSource에서 읽게 합니다. 창은 쓰기 요청의 처리 시간과 복제 지연을 합친 것보다 길어야 합니다.</p>
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+  public static final String HEADER = "X-Last-Write-At";
+
+  private final long windowMillis;
+
+  public ReadYourWritesFilter(Duration window) {
+    this.windowMillis = window.toMillis();
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    long now = System.currentTimeMillis();
+    if (isWrite(request.getMethod())) {
+      response.setHeader(HEADER, Long.toString(now));
+    }
+    if (!wroteRecently(request.getHeader(HEADER), now)) {
+      chain.doFilter(request, response);
+      return;
+    }
+    ReadYourWrites.pin();
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      ReadYourWrites.clear();
+    }
+  }
+
+  private boolean wroteRecently(String lastWriteAt, long now) {
+    if (lastWriteAt == null) {
+      return false;
+    }
+    try {
+      return now - Long.parseLong(lastWriteAt.trim()) < windowMillis;
+    } catch (NumberFormatException e) {
+      return false;
+    }
+  }
+
+  private static boolean isWrite(String method) {
+    return !("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method));
+  }
+}
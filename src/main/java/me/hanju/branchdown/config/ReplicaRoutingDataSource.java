@@ -0,0 +1,159 @@
+package me.hanju.branchdown.config;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import lombok.extern.slf4j.Slf4j;
+import me.hanju.branchdown.config.BranchdownProperties.ReplicaSelection;
+
+/**
+ * 읽기 전용 커넥션을 복제본으로 보내는 DataSource
+ *
+ * <p>실제 커넥션을 첫 SQL 실행 시점까지 미루므로, 트랜잭션 시작 시 읽기 전용으로 표시된 커넥션
+ * ({@code @Transactional(readOnly = true)})은 복제본에서, 그 외의 커넥션은 기본 DataSource에서 가져옵니다.
+ * 읽기 전용 메서드가 쓰기 트랜잭션에 참여하면 기존 트랜잭션의 커넥션을 그대로 사용합니다.</p>
+ *
+ * <p>{@link ReadYourWrites}로 표시된 요청의 조회와, 모든 복제본에서 커넥션을 가져오지 못한 조회는 기본 DataSource에서 처리합니다.</p>
+ *
+ * <p>복제본에서 읽은 값은 복제 지연만큼 오래되었을 수 있으므로, 캐시는 {@link #isReplicaRead()}로 현재 트랜잭션이
+ * 복제본에서 읽었는지 확인하여 그 결과를 캐시하지 않습니다.</p>
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+  /** 현재 트랜잭션의 커넥션을 복제본에서 가져왔음을 표시하는 트랜잭션 리소스 키 */
+  private static final Object REPLICA_READ = new Object();
+
+  private final DataSource primary;
+  private final List<HikariDataSource> replicas;
+
+  /**
+   * @param primary   기본 DataSource (쓰기와 읽기-쓰기 트랜잭션)
+   * @param replicas  복제본 커넥션 풀
+   * @param selection 복제본 선택 방식
+   */
+  public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas, ReplicaSelection selection) {
+    super(primary);
+    this.primary = primary;
+    this.replicas = List.copyOf(replicas);
+    setReadOnlyDataSource(new Replicas(selection));
+  }
+
+  /**
+   * 현재 트랜잭션이 복제본 커넥션을 사용하는지 여부 (복제본을 사용하지 않으면 항상 false)
+   *
+   * @return 복제본에서 읽었으면 true
+   */
+  public static boolean isReplicaRead() {
+    return TransactionSynchronizationManager.hasResource(REPLICA_READ);
+  }
+
+  /** 복제본 커넥션 풀 */
+  public List<HikariDataSource> getReplicas() {
+    return replicas;
+  }
+
+  /** 복제본과 기본 DataSource의 커넥션 풀을 닫습니다. */
+  @Override
+  public void close() {
+    replicas.forEach(HikariDataSource::close);
+    if (primary instanceof AutoCloseable closeable) {
+      try {
+        closeable.close();
+      } catch (Exception e) {
+        log.warn("Failed to close primary DataSource", e);
+      }
+    }
+  }
+
+  /** 선택 방식에 따라 복제본 커넥션을 가져오는 읽기 전용 DataSource */
+  private class Replicas extends AbstractDataSource {
+
+    private final ReplicaSelection selection;
+    private final AtomicInteger next = new AtomicInteger();
+
+    Replicas(ReplicaSelection selection) {
+      this.selection = selection;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+      if (ReadYourWrites.isPinned()) {
+        return primary.getConnection();
+      }
+      int first = select();
+      for (int i = 0; i < replicas.size(); i++) {
+        HikariDataSource replica = replicas.get((first + i) % replicas.size());
+        try {
+          Connection connection = replica.getConnection();
+          markReplicaRead();
+          return connection;
+        } catch (SQLException e) {
+          log.warn("Failed to get connection from replica {}, trying next", replica.getPoolName(), e);
+        }
+      }
+      log.warn("No replica available, reading from primary");
+      return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+      // 복제본 커넥션 풀(HikariDataSource)도 지원하지 않음
+      throw new SQLFeatureNotSupportedException("Replica connections use the configured credentials");
+    }
+
+    /** 트랜잭션이 끝날 때까지 복제본에서 읽었음을 표시 */
+    private static void markReplicaRead() {
+      if (!TransactionSynchronizationManager.isSynchronizationActive()
+          || TransactionSynchronizationManager.hasResource(REPLICA_READ)) {
+        return;
+      }
+      TransactionSynchronizationManager.bindResource(REPLICA_READ, Boolean.TRUE);
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          TransactionSynchronizationManager.unbindResourceIfPossible(REPLICA_READ);
+        }
+      });
+    }
+
+    /** 먼저 시도할 복제본 순번 */
+    private int select() {
+      int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+      if (selection == ReplicaSelection.ROUND_ROBIN) {
+        return start;
+      }
+      int selected = start;
+      int minLoad = Integer.MAX_VALUE;
+      for (int i = 0; i < replicas.size(); i++) {
+        int index = (start + i) % replicas.size();
+        int load = load(replicas.get(index));
+        if (load < minLoad) {
+          selected = index;
+          minLoad = load;
+        }
+      }
+      return selected;
+    }
+
+    /** 사용 중인 커넥션과 커넥션을 기다리는 스레드 수 (풀이 아직 시작되지 않았으면 0) */
+    private static int load(HikariDataSource replica) {
+      HikariPoolMXBean pool = replica.getHikariPoolMXBean();
+      return pool == null ? 0 : pool.getActiveConnections() + pool.getThreadsAwaitingConnection();
+    }
+  }
+}
@@ -11,4 +11,19 @@ public final class StreamConstants {
 
   /** 제일 처음 붙일 브랜치 번호, 0 */
   public static final int INITIAL_BRANCH_NUM = 0;
+
+  /** 초기 브랜치의 분기 depth, 루트 포인트보다 한 단계 위인 -1 */
+  public static final int INITIAL_BRANCH_FORK_DEPTH = ROOT_POINT_DEPTH - 1;
+
+  /** 커서 기반 포인트 목록 조회에서 한 번에 반환할 수 있는 최대 개수, 1000 */
+  public static final int MAX_PAGE_LIMIT = 1000;
+
+  /** 스트림 일괄 생성에서 한 번에 만들 수 있는 최대 개수, 1000 */
+  public static final int MAX_CREATE_COUNT = 1000;
+
+  /** 포인트 일괄 추가에서 한 번에 이어 붙일 수 있는 최대 포인트 수, 1000 */
+  public static final int MAX_BATCH_DOWN_SIZE = 1000;
+
+  /** 조상 일괄 조회에서 한 번에 조회할 수 있는 최대 포인트 수, 100 */
+  public static final int MAX_ANCESTORS_BATCH_SIZE = 100;
 }
@@ -8,6 +8,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -15,6 +16,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import me.hanju.branchdown.dto.PointDto;
 import me.hanju.branchdown.service.PointService;
+import me.hanju.branchdown.service.PointWriteQueue;
 
 @Tag(name = "Point", description = "포인트 관리 API")
 @RestController
@@ -23,13 +25,23 @@ import me.hanju.branchdown.service.PointService;
 public class PointController {
 
   private final PointService pointService;
+  private final PointWriteQueue pointWriteQueue;
 
   @Operation(summary = "포인트 추가", description = "지정한 포인트 아래에 새로운 포인트를 추가합니다 (브랜칭 포함)")
   @PostMapping("/{id}/down")
   public ResponseEntity<PointDto.Response> pointDown(
       @PathVariable Long id,
       @RequestBody PointDto.DownRequest request) {
-    PointDto.Response response = pointService.pointDown(id, request.itemId());
+    PointDto.Response response = pointWriteQueue.pointDown(id, request.itemId());
+    return ResponseEntity.ok(response);
+  }
+
+  @Operation(summary = "포인트 일괄 추가", description = "지정한 포인트 아래에 여러 포인트를 하나의 선형 체인으로 추가합니다 (브랜치는 최대 1개 생성)")
+  @PostMapping("/{id}/down/batch")
+  public ResponseEntity<List<PointDto.Response>> pointDownBatch(
+      @PathVariable Long id,
+      @RequestBody PointDto.BatchDownRequest request) {
+    List<PointDto.Response> response = pointService.pointDownBatch(id, request.itemIds());
     return ResponseEntity.ok(response);
   }
 
@@ -40,4 +52,33 @@ public class PointController {
     List<PointDto.Response> response = pointService.getAncestors(id);
     return ResponseEntity.ok(response);
   }
+
+  @Operation(summary = "조상 포인트 일괄 조회",
+      description = "여러 포인트의 조상 포인트들을 한 번에 조회합니다 (공통 조상은 한 번만 읽음, 요청 순서로 반환)")
+  @PostMapping("/ancestors:batch")
+  public ResponseEntity<List<PointDto.Ancestors>> getAncestorsBatch(
+      @RequestBody PointDto.AncestorsBatchRequest request) {
+    List<PointDto.Ancestors> response = pointService.getAncestorsBatch(request.ids());
+    return ResponseEntity.ok(response);
+  }
+
+  @Operation(summary = "하위 포인트 조회",
+      description = "지정한 포인트 아래의 모든 브랜치에 있는 하위 포인트를 가까운 depth부터 최대 limit개 조회합니다 (maxDepth 지정 시 그 depth까지만)")
+  @GetMapping("/{id}/descendants")
+  public ResponseEntity<List<PointDto.Response>> getDescendants(
+      @PathVariable Long id,
+      @RequestParam(name = "maxDepth", required = false) Integer maxDepth,
+      @RequestParam(name = "limit") int limit) {
+    List<PointDto.Response> response = pointService.getDescendants(id, maxDepth, limit);
+    return ResponseEntity.ok(response);
+  }
+
+  @Operation(summary = "하위 포인트 수 조회", description = "지정한 포인트 아래의 하위 포인트 수를 조회합니다 (maxDepth 지정 시 그 depth까지만)")
+  @GetMapping("/{id}/descendants/count")
+  public ResponseEntity<PointDto.DescendantCount> countDescendants(
+      @PathVariable Long id,
+      @RequestParam(name = "maxDepth", required = false) Integer maxDepth) {
+    PointDto.DescendantCount response = new PointDto.DescendantCount(pointService.countDescendants(id, maxDepth));
+    return ResponseEntity.ok(response);
+  }
 }
@@ -1,7 +1,10 @@
 package me.hanju.branchdown.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,12 +13,19 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import me.hanju.branchdown.dto.PointDto;
 import me.hanju.branchdown.dto.StreamDto;
+import me.hanju.branchdown.service.StreamPool;
 import me.hanju.branchdown.service.StreamService;
 
 @Tag(name = "Stream", description = "스트림 관리 API")
@@ -25,11 +35,21 @@ import me.hanju.branchdown.service.StreamService;
 public class StreamController {
 
   private final StreamService streamService;
+  private final StreamPool streamPool;
+  private final ObjectMapper objectMapper;
 
   @Operation(summary = "스트림 생성", description = "새로운 스트림을 생성합니다")
   @PostMapping
   public ResponseEntity<StreamDto.Response> createStream() {
-    StreamDto.Response response = streamService.createStream();
+    StreamDto.Response response = streamPool.createStream();
+    return ResponseEntity.ok(response);
+  }
+
+  @Operation(summary = "스트림 일괄 생성", description = "빈 스트림을 count개(최대 1000) 한 번에 생성합니다")
+  @PostMapping("/batch")
+  public ResponseEntity<List<StreamDto.Response>> createStreams(
+      @RequestParam(name = "count") int count) {
+    List<StreamDto.Response> response = streamService.createStreams(count);
     return ResponseEntity.ok(response);
   }
 
@@ -49,6 +69,17 @@ public class StreamController {
     return ResponseEntity.noContent().build();
   }
 
+  @Operation(summary = "스트림 트리 조회",
+      description = "스트림의 모든 브랜치와 포인트를 부모 포인트 ID를 포함한 인접 리스트로 조회합니다 (branchNum 지정 시 해당 브랜치와 하위 브랜치만, maxDepth 지정 시 그 depth까지만)")
+  @GetMapping("/{id}/tree")
+  public ResponseEntity<StreamDto.Tree> getTree(
+      @PathVariable Long id,
+      @RequestParam(name = "branchNum", defaultValue = "0") int branchNum,
+      @RequestParam(name = "maxDepth", required = false) Integer maxDepth) {
+    StreamDto.Tree response = streamService.getTree(id, branchNum, maxDepth);
+    return ResponseEntity.ok(response);
+  }
+
   @Operation(summary = "스트림 포인트 목록 조회", description = "스트림의 처음부터 가장 최근 브랜치까지의 포인트 목록을 조회합니다")
   @GetMapping("/{id}/points")
   public ResponseEntity<List<PointDto.Response>> getStreamPoints(
@@ -57,6 +88,18 @@ public class StreamController {
     return ResponseEntity.ok(response);
   }
 
+  @Operation(summary = "스트림 포인트 페이지 조회",
+      description = "최신 브랜치 경로 중 커서가 가리키는 구간의 포인트를 최대 limit개 조회합니다 (커서가 없으면 가장 최근 limit개)")
+  @GetMapping(value = "/{id}/points", params = "limit")
+  public ResponseEntity<PointDto.Page> getStreamPointsPage(
+      @PathVariable Long id,
+      @RequestParam(name = "limit") int limit,
+      @RequestParam(name = "beforeDepth", required = false) Integer beforeDepth,
+      @RequestParam(name = "afterDepth", required = false) Integer afterDepth) {
+    PointDto.Page response = streamService.getStreamPoints(id, new PointDto.Cursor(afterDepth, beforeDepth, limit));
+    return ResponseEntity.ok(response);
+  }
+
   @Operation(summary = "브랜치 포인트 목록 조회", description = "특정 브랜치의 포인트 목록을 조회합니다")
   @GetMapping("/{id}/branches/{branchNum}/points")
   public ResponseEntity<List<PointDto.Response>> getBranchMessages(
@@ -66,4 +109,48 @@ public class StreamController {
     List<PointDto.Response> response = streamService.getBranchMessages(id, branchNum, depth);
     return ResponseEntity.ok(response);
   }
+
+  @Operation(summary = "브랜치 포인트 페이지 조회",
+      description = "특정 브랜치 경로 중 커서가 가리키는 구간의 포인트를 최대 limit개 조회합니다 (커서가 없으면 가장 최근 limit개)")
+  @GetMapping(value = "/{id}/branches/{branchNum}/points", params = "limit")
+  public ResponseEntity<PointDto.Page> getBranchMessagesPage(
+      @PathVariable Long id,
+      @PathVariable int branchNum,
+      @RequestParam(name = "depth", defaultValue = "0") int depth,
+      @RequestParam(name = "limit") int limit,
+      @RequestParam(name = "beforeDepth", required = false) Integer beforeDepth,
+      @RequestParam(name = "afterDepth", required = false) Integer afterDepth) {
+    PointDto.Page response = streamService.getBranchMessages(
+        id, branchNum, depth, new PointDto.Cursor(afterDepth, beforeDepth, limit));
+    return ResponseEntity.ok(response);
+  }
+
+  @Operation(summary = "스트림 포인트 내보내기",
+      description = "스트림의 포인트를 한 줄에 하나씩 NDJSON으로 스트리밍합니다 (view=path: 최신 브랜치 경로, view=tree: 모든 브랜치)")
+  @GetMapping(value = "/{id}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportPoints(
+      @PathVariable Long id,
+      @RequestParam(name = "view", defaultValue = "path") String view) {
+    StreamDto.ExportView exportView = StreamDto.ExportView.of(view);
+    // 응답을 쓰기 시작한 뒤에는 상태 코드를 바꿀 수 없으므로 존재 여부를 먼저 확인
+    streamService.getStream(id);
+
+    // 줄바꿈은 직접 쓰므로 기본 루트 값 구분자(공백)는 쓰지 않고, 버퍼가 찰 때만 내보낸다
+    ObjectWriter writer = objectMapper.writerFor(PointDto.Response.class)
+        .withRootValueSeparator("")
+        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    StreamingResponseBody body = out -> {
+      JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+      streamService.exportPoints(id, exportView, point -> {
+        try {
+          writer.writeValue(generator, point);
+          generator.writeRaw('\n');
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+      generator.flush();
+    };
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
 }
@@ -1,6 +1,7 @@
 package me.hanju.branchdown.dto;
 
 import java.time.Instant;
+import java.util.List;
 
 /** Branchdown Point DTO */
 public class PointDto {
@@ -18,4 +19,59 @@ public class PointDto {
 
   public static record DownRequest(String itemId) {
   }
+
+  /** 하나의 부모 아래에 순서대로 이어 붙일 item ID 목록 */
+  public static record BatchDownRequest(List<String> itemIds) {
+  }
+
+  /** 조상을 조회할 Point ID 목록 */
+  public static record AncestorsBatchRequest(List<Long> ids) {
+  }
+
+  /**
+   * 한 Point의 조상 목록
+   *
+   * @param id        기준 Point ID
+   * @param ancestors 자신 포함 조상 목록 (depth 오름차순, 루트 제외)
+   */
+  public static record Ancestors(Long id, List<Response> ancestors) {
+  }
+
+  /**
+   * 커서 기반 포인트 목록 조회 조건 (depth는 모두 제외 경계)
+   *
+   * <p>afterDepth만 지정하면 afterDepth 다음부터 오래된 순으로, 그 외에는 beforeDepth(없으면 경로 끝) 직전부터
+   * 최신 순으로 limit개를 고릅니다. 어느 쪽이든 결과는 depth 오름차순입니다.</p>
+   */
+  public static record Cursor(
+      Integer afterDepth,
+      Integer beforeDepth,
+      int limit) {
+
+    /** afterDepth에서 최신 방향으로 읽는지 여부 */
+    public boolean forward() {
+      return afterDepth != null && beforeDepth == null;
+    }
+  }
+
+  /**
+   * 커서 기반 포인트 목록 조회 결과
+   *
+   * @param items           depth 오름차순 포인트 목록
+   * @param nextBeforeDepth 더 오래된 포인트를 읽을 beforeDepth, 없으면 null
+   * @param nextAfterDepth  더 최신 포인트를 읽을 afterDepth, 없으면 null
+   */
+  public static record Page(
+      List<Response> items,
+      Integer nextBeforeDepth,
+      Integer nextAfterDepth) {
+  }
+
+  /**
+   * 하위 포인트 수
+   *
+   * @param count 하위 포인트 수 (기준 포인트 제외)
+   */
+  public static record DescendantCount(long count) {
+  }
 }
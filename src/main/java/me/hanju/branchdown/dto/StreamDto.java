@@ -1,6 +1,8 @@
 package me.hanju.branchdown.dto;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
 
 /** Branchdown Stream DTO */
 public class StreamDto {
@@ -11,4 +13,63 @@ public class StreamDto {
       Long id,
       Instant createdAt) {
   }
+
+  /**
+   * 스트림 트리 (인접 리스트)
+   *
+   * @param branches 브랜치 목록 (branchNum 오름차순)
+   * @param points   포인트 목록 (branchNum, depth 오름차순)
+   */
+  public static record Tree(
+      List<TreeBranch> branches,
+      List<TreeNode> points) {
+  }
+
+  /**
+   * 트리의 브랜치
+   *
+   * @param branchNum       브랜치 번호
+   * @param parentBranchNum 분기한 포인트가 속한 브랜치 번호, 기본 브랜치면 null
+   * @param forkDepth       분기한 포인트의 depth (브랜치의 포인트는 forkDepth + 1부터 시작)
+   */
+  public static record TreeBranch(
+      int branchNum,
+      Integer parentBranchNum,
+      int forkDepth) {
+  }
+
+  /**
+   * 트리의 포인트
+   *
+   * @param id              포인트 ID
+   * @param parentId        부모 포인트 ID, 루트 포인트이거나 부모가 조회 범위 밖이면 null
+   * @param branchNum       브랜치 번호
+   * @param depth           depth
+   * @param itemId          아이템 ID, 루트 포인트면 null
+   * @param childBranchNums 이 포인트에서 분기한 브랜치 번호 목록
+   */
+  public static record TreeNode(
+      Long id,
+      Long parentId,
+      int branchNum,
+      int depth,
+      String itemId,
+      int[] childBranchNums) {
+  }
+
+  /** 포인트 내보내기 범위 */
+  public enum ExportView {
+    /** 처음부터 가장 최근 브랜치까지의 경로 */
+    PATH,
+    /** 모든 브랜치의 모든 포인트 */
+    TREE;
+
+    public static ExportView of(String value) {
+      try {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("Unknown export view: " + value);
+      }
+    }
+  }
 }
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.hibernate.annotations.Comment;
+import org.springframework.data.domain.Persistable;
 
 import jakarta.persistence.AttributeOverride;
 import jakarta.persistence.CascadeType;
@@ -16,7 +17,10 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.MapsId;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -35,9 +39,9 @@ import me.hanju.branchdown.entity.id.BranchId;
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 @Entity
 @Table(name = "branches")
-@ToString(exclude = { "stream", "points" })
-@EqualsAndHashCode(exclude = { "stream", "points" })
-public class BranchEntity {
+@ToString(exclude = { "stream", "points", "newEntity" })
+@EqualsAndHashCode(exclude = { "stream", "points", "newEntity" })
+public class BranchEntity implements Persistable<BranchId> {
 
   @EmbeddedId
   @AttributeOverride(name = "streamId", column = @Column(name = "stream_id", nullable = false))
@@ -57,13 +61,42 @@ public class BranchEntity {
   @Comment("자기 자신까지 오기 위한 branch_num의 경로. 구분자는 \",\"")
   private String path = "";
 
+  /** 분기한 포인트의 depth. 이 브랜치의 포인트는 forkDepth + 1부터 시작한다. */
+  @Column(name = "fork_depth", nullable = false, updatable = false)
+  @Comment("분기한 포인트의 depth. 이 브랜치의 포인트는 fork_depth + 1부터 시작")
+  private int forkDepth;
+
   /** 이 브랜치 소속 포인트들 */
   @Builder.Default
   @OneToMany(mappedBy = "branch", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
   private List<PointEntity> points = new ArrayList<>();
 
+  /**
+   * ID를 직접 지정하므로 save 시 SELECT 후 merge하지 않고 바로 persist하도록 새 엔티티 여부를 직접 관리한다.
+   * 빌더로 만든 엔티티만 새 엔티티이며, 조회하거나 저장한 뒤에는 false가 된다.
+   */
+  @Transient
+  @Builder.Default
+  @Getter(AccessLevel.NONE)
+  private boolean newEntity = true;
+
+  @PostLoad
+  @PostPersist
+  void markNotNew() {
+    this.newEntity = false;
+  }
+
+  @Override
+  public boolean isNew() {
+    return this.newEntity;
+  }
+
   /**
    * 브랜치에 포인트를 추가
+   * <p>
+   * <strong>주의:</strong> 새로 생성한 브랜치에만 사용합니다.
+   * 조회한 브랜치에 호출하면 LAZY 컬렉션 전체가 로딩됩니다.
+   * </p>
    *
    * @param point 추가할 PointEntity
    */
@@ -14,14 +14,13 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.ForeignKey;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinColumns;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PostLoad;
-import jakarta.persistence.PostPersist;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -32,6 +31,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 import me.hanju.branchdown.config.IntArrayConverter;
+import me.hanju.branchdown.config.PooledId;
 import me.hanju.branchdown.dto.PointDto;
 import me.hanju.branchdown.util.PathUtils;
 
@@ -45,21 +45,24 @@ import me.hanju.branchdown.util.PathUtils;
 @EqualsAndHashCode(exclude = { "branch", "childBranchNums" })
 @Entity
 @EntityListeners(AuditingEntityListener.class)
-@Table(name = "points")
+@Table(name = "points", indexes = {
+    @Index(name = "idx_points_stream_branch_depth", columnList = "stream_id, branch_num, depth")
+})
 @DynamicUpdate
 public class PointEntity {
 
-  // 수동 동기화 필요
+  // 수동 동기화 필요 (SEQUENCE 채번은 INSERT가 flush 시점까지 지연되므로 persist 직전에 동기화)
   @PostLoad
-  @PostPersist
+  @PrePersist
   public void syncBranchNum() {
     if (this.branch != null) {
       this.branchNum = this.branch.getBranchNum();
     }
   }
 
+  /** pooled 방식으로 채번하여 INSERT를 JDBC 배치로 묶을 수 있도록 한다 */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @PooledId("points_seq")
   @Column(name = "point_id")
   private Long id;
 
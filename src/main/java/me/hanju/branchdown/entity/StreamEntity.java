@@ -7,6 +7,7 @@ import java.util.List;
 import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.Comment;
 import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -15,8 +16,6 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
@@ -28,9 +27,10 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import me.hanju.branchdown.config.PooledId;
 import me.hanju.branchdown.dto.StreamDto;
 
-/** 여러 브랜치를 관리하는 하나의 흐름 엔티티 */
+/** 여러 브랜치를 관리하는 하나의 흐름 엔티티 (삭제 표시된 스트림은 조회되지 않음) */
 @Builder
 @Getter
 @Setter(AccessLevel.PRIVATE)
@@ -42,10 +42,12 @@ import me.hanju.branchdown.dto.StreamDto;
 @EntityListeners(AuditingEntityListener.class)
 @Table(name = "streams")
 @DynamicUpdate
+@SQLRestriction("deleted_at IS NULL")
 public class StreamEntity {
 
+  /** pooled 방식으로 채번하여 INSERT를 JDBC 배치로 묶을 수 있도록 한다 */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @PooledId("streams_seq")
   @Column(name = "stream_id")
   private Long id;
 
@@ -58,16 +60,40 @@ public class StreamEntity {
   @OneToMany(mappedBy = "stream", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
   private List<BranchEntity> branches = new ArrayList<>();
 
-  /** 다음에 붙일 브랜치 번호(addBranch 시 동시에 업데이트) */
+  /** 다음에 붙일 브랜치 번호(StreamRepository#incrementNextBranchNum으로 DB에서 원자적으로 증가) */
   @Builder.Default
   @Column(name = "next_branch_num")
   @Comment("다음에 붙일 브랜치 번호")
   private Integer nextBranchNum = 0;
 
+  /** 가장 최근에 포인트가 추가된 브랜치 번호(StreamRepository#updateLatest로 갱신) */
+  @Builder.Default
+  @Column(name = "latest_branch_num", nullable = false)
+  @Comment("가장 최근에 포인트가 추가된 브랜치 번호")
+  private Integer latestBranchNum = 0;
+
+  /** 가장 최근에 추가된 포인트의 ID, 루트 포인트만 있으면 null (StreamRepository#updateLatest로 갱신) */
+  @Column(name = "latest_point_id")
+  @Comment("가장 최근에 추가된 포인트의 ID")
+  private Long latestPointId;
+
+  /** 삭제 요청 시각, null이 아니면 정리 중인 스트림 (StreamRepository#markDeleted로 설정) */
+  @Column(name = "deleted_at")
+  @Comment("삭제 요청 시각")
+  private Instant deletedAt;
+
+  /**
+   * 스트림에 브랜치를 추가
+   * <p>
+   * <strong>주의:</strong> 새로 생성한 스트림에만 사용합니다.
+   * 조회한 스트림에 호출하면 LAZY 컬렉션 전체가 로딩됩니다.
+   * </p>
+   *
+   * @param branch 추가할 BranchEntity
+   */
   public void addBranch(final BranchEntity branch) {
     if (branch != null) {
       this.branches.add(branch);
-      nextBranchNum = this.branches.size();
     }
   }
 
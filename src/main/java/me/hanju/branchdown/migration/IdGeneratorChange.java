@@ -0,0 +1,131 @@
+package me.hanju.branchdown.migration;
+
+import java.math.BigInteger;
+import java.util.Locale;
+
+import liquibase.Scope;
+import liquibase.change.custom.CustomSqlChange;
+import liquibase.database.Database;
+import liquibase.datatype.DataTypeFactory;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.executor.ExecutorService;
+import liquibase.resource.ResourceAccessor;
+import liquibase.snapshot.SnapshotGeneratorFactory;
+import liquibase.statement.SqlStatement;
+import liquibase.statement.core.CreateSequenceStatement;
+import liquibase.statement.core.CreateTableStatement;
+import liquibase.statement.core.InsertStatement;
+import liquibase.statement.core.RawParameterizedSqlStatement;
+import liquibase.structure.core.Sequence;
+import liquibase.structure.core.Table;
+import lombok.Getter;
+import lombok.Setter;
+import me.hanju.branchdown.config.PooledIdGenerator;
+
+/**
+ * {@link PooledIdGenerator}가 사용할 시퀀스 또는 테이블을 생성하는 Liquibase 변경
+ *
+ * <p>Hibernate와 같은 규칙으로 시퀀스/테이블을 고릅니다. {@code sequence} 모드라도 시퀀스를 지원하지 않는
+ * DB(MySQL)에서는 {@code next_val} 컬럼 하나를 가진 테이블을 만듭니다. 이미 존재하면 아무것도 하지 않습니다.</p>
+ *
+ * <p>pooled 옵티마이저는 DB에서 받은 값을 할당 구간의 끝으로 사용하므로, 대상 테이블에 데이터가 있으면
+ * {@code MAX(id) + allocationSize}부터 시작하여 기존 ID와 겹치지 않게 합니다.</p>
+ */
+@Getter
+@Setter
+public class IdGeneratorChange implements CustomSqlChange {
+
+  /** 시퀀스 또는 테이블 이름 */
+  private String name;
+  /** ID를 사용하는 테이블 */
+  private String tableName;
+  /** ID 컬럼 */
+  private String columnName;
+  /** {@code sequence} 또는 {@code table} */
+  private String mode;
+  /** 한 번에 할당받을 ID 개수 (Hibernate의 increment와 같아야 함) */
+  private String allocationSize;
+
+  @Override
+  public SqlStatement[] generateStatements(Database database) throws CustomChangeException {
+    boolean useSequence = database.supports(Sequence.class) && parseMode() == PooledIdGenerator.Mode.SEQUENCE;
+    try {
+      if (exists(database, useSequence)) {
+        return new SqlStatement[0];
+      }
+      BigInteger increment = BigInteger.valueOf(parseAllocationSize());
+      BigInteger start = initialValue(database, increment);
+      if (useSequence) {
+        return new SqlStatement[] {
+            new CreateSequenceStatement(null, null, name).setStartValue(start).setIncrementBy(increment)
+        };
+      }
+      return new SqlStatement[] {
+          new CreateTableStatement(null, null, name)
+              .addColumn("next_val", DataTypeFactory.getInstance().fromDescription("BIGINT", database)),
+          new InsertStatement(null, null, name).addColumnValue("next_val", start)
+      };
+    } catch (Exception e) {
+      throw new CustomChangeException("Failed to create id generator " + name, e);
+    }
+  }
+
+  private boolean exists(Database database, boolean sequence) throws Exception {
+    String catalog = database.getDefaultCatalogName();
+    String schema = database.getDefaultSchemaName();
+    return SnapshotGeneratorFactory.getInstance().has(
+        sequence ? new Sequence(catalog, schema, name) : new Table(catalog, schema, name), database);
+  }
+
+  private BigInteger initialValue(Database database, BigInteger increment) throws Exception {
+    long max = Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database)
+        .queryForLong(new RawParameterizedSqlStatement(
+            "SELECT COALESCE(MAX(" + columnName + "), 0) FROM " + tableName));
+    return max == 0 ? BigInteger.ONE : BigInteger.valueOf(max).add(increment);
+  }
+
+  private PooledIdGenerator.Mode parseMode() {
+    return PooledIdGenerator.Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+  }
+
+  private int parseAllocationSize() {
+    return Integer.parseInt(allocationSize.trim());
+  }
+
+  @Override
+  public ValidationErrors validate(Database database) {
+    ValidationErrors errors = new ValidationErrors();
+    errors.checkRequiredField("name", name);
+    errors.checkRequiredField("tableName", tableName);
+    errors.checkRequiredField("columnName", columnName);
+    try {
+      parseMode();
+    } catch (RuntimeException e) {
+      errors.addError("Invalid mode: " + mode);
+    }
+    try {
+      if (parseAllocationSize() < 1) {
+        errors.addError("Invalid allocationSize: " + allocationSize);
+      }
+    } catch (RuntimeException e) {
+      errors.addError("Invalid allocationSize: " + allocationSize);
+    }
+    return errors;
+  }
+
+  @Override
+  public String getConfirmationMessage() {
+    return "Id generator " + name + " is ready";
+  }
+
+  @Override
+  public void setUp() {
+    // 준비 작업 없음
+  }
+
+  @Override
+  public void setFileOpener(ResourceAccessor resourceAccessor) {
+    // 리소스를 읽지 않음
+  }
+}
@@ -0,0 +1,119 @@
+package me.hanju.branchdown.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+import lombok.Getter;
+import lombok.Setter;
+import me.hanju.branchdown.util.PathUtils;
+import me.hanju.branchdown.util.VarInts;
+
+/**
+ * 쉼표로 구분된 int 배열 문자열 컬럼을 varint 바이트 배열 컬럼으로 복사하는 Liquibase 변경
+ *
+ * <p>원본 컬럼의 모든 행을 읽어 {@link VarInts}로 인코딩한 값을 대상 컬럼에 UPDATE합니다.
+ * 행마다 키 컬럼으로 갱신하며 {@code batchSize}개씩 JDBC 배치로 묶습니다.</p>
+ */
+@Getter
+@Setter
+public class PackIntArraysChange implements CustomTaskChange {
+
+  private static final int DEFAULT_BATCH_SIZE = 1000;
+
+  /** 변환할 테이블 */
+  private String tableName;
+  /** 행을 식별하는 키 컬럼 (쉼표로 구분) */
+  private String keyColumns;
+  /** 쉼표로 구분된 문자열 컬럼 */
+  private String sourceColumn;
+  /** 바이트 배열을 기록할 컬럼 */
+  private String targetColumn;
+  /** 한 번에 실행할 UPDATE 개수 (기본값 1000) */
+  private String batchSize;
+
+  private int rows;
+
+  @Override
+  public void execute(Database database) throws CustomChangeException {
+    String[] keys = parseKeyColumns();
+    String select = "SELECT " + String.join(", ", keys) + ", " + sourceColumn + " FROM " + tableName;
+    String update = "UPDATE " + tableName + " SET " + targetColumn + " = ? WHERE "
+        + String.join(" AND ", Arrays.stream(keys).map(key -> key + " = ?").toList());
+    int size = parseBatchSize();
+
+    Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+    try (Statement query = connection.createStatement();
+        PreparedStatement statement = connection.prepareStatement(update)) {
+      query.setFetchSize(size);
+      try (ResultSet resultSet = query.executeQuery(select)) {
+        int pending = 0;
+        while (resultSet.next()) {
+          statement.setBytes(1, VarInts.encode(PathUtils.parse(resultSet.getString(keys.length + 1))));
+          for (int i = 1; i <= keys.length; i++) {
+            statement.setObject(i + 1, resultSet.getObject(i));
+          }
+          statement.addBatch();
+          rows++;
+          if (++pending == size) {
+            statement.executeBatch();
+            pending = 0;
+          }
+        }
+        if (pending > 0) {
+          statement.executeBatch();
+        }
+      }
+    } catch (Exception e) {
+      throw new CustomChangeException("Failed to pack " + tableName + "." + sourceColumn, e);
+    }
+  }
+
+  private String[] parseKeyColumns() {
+    return Arrays.stream(keyColumns.split(",")).map(String::trim).toArray(String[]::new);
+  }
+
+  private int parseBatchSize() {
+    return batchSize == null ? DEFAULT_BATCH_SIZE : Integer.parseInt(batchSize.trim());
+  }
+
+  @Override
+  public ValidationErrors validate(Database database) {
+    ValidationErrors errors = new ValidationErrors();
+    errors.checkRequiredField("tableName", tableName);
+    errors.checkRequiredField("keyColumns", keyColumns);
+    errors.checkRequiredField("sourceColumn", sourceColumn);
+    errors.checkRequiredField("targetColumn", targetColumn);
+    try {
+      if (parseBatchSize() < 1) {
+        errors.addError("Invalid batchSize: " + batchSize);
+      }
+    } catch (RuntimeException e) {
+      errors.addError("Invalid batchSize: " + batchSize);
+    }
+    return errors;
+  }
+
+  @Override
+  public String getConfirmationMessage() {
+    return "Packed " + rows + " rows of " + tableName + "." + sourceColumn + " into " + targetColumn;
+  }
+
+  @Override
+  public void setUp() {
+    // 준비 작업 없음
+  }
+
+  @Override
+  public void setFileOpener(ResourceAccessor resourceAccessor) {
+    // 리소스를 읽지 않음
+  }
+}
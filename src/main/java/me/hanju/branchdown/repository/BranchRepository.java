@@ -1,25 +1,58 @@
 package me.hanju.branchdown.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import me.hanju.branchdown.entity.BranchEntity;
-import me.hanju.branchdown.entity.StreamEntity;
 import me.hanju.branchdown.entity.id.BranchId;
 
 @Repository
-public interface BranchRepository extends JpaRepository<BranchEntity, BranchId> {
+public interface BranchRepository extends JpaRepository<BranchEntity, BranchId>, BranchRepositoryCustom {
 
+  /**
+   * 삭제 표시되지 않은 스트림의 브랜치를 조회합니다.
+   *
+   * @param id 브랜치 ID
+   * @return 브랜치, 없거나 스트림이 삭제 표시되었으면 빈 값
+   */
   @Query("""
-      SELECT b
-      FROM BranchEntity b
-      JOIN b.points p
-      WHERE b.stream = :stream
-      ORDER BY p.createdAt DESC
-      LIMIT 1
+      SELECT b FROM BranchEntity b
+      JOIN StreamEntity s ON s.id = b.id.streamId
+      WHERE b.id = :id AND s.deletedAt IS NULL
       """)
-  Optional<BranchEntity> findLatestBranchInChat(StreamEntity stream);
+  Optional<BranchEntity> findLiveById(BranchId id);
+
+  /**
+   * 스트림의 여러 브랜치를 branchNum으로 조회합니다.
+   *
+   * @param streamId   스트림 ID
+   * @param branchNums 조회할 branchNum 목록
+   * @return 조회된 브랜치 목록 (순서 보장 없음)
+   */
+  List<BranchEntity> findAllByIdStreamIdAndIdBranchNumIn(Long streamId, Collection<Integer> branchNums);
+
+  /**
+   * 스트림에서 branchNum이 지정한 값 이상인 브랜치를 조회합니다.
+   *
+   * @param streamId  스트림 ID
+   * @param branchNum 이 branchNum 이상
+   * @return 조회된 브랜치 목록 (branchNum 오름차순)
+   */
+  List<BranchEntity> findAllByIdStreamIdAndIdBranchNumGreaterThanEqualOrderByIdBranchNum(Long streamId, int branchNum);
+
+  /**
+   * 스트림의 모든 브랜치를 엔티티 로딩 없이 한 번에 삭제합니다. 포인트를 먼저 지워야 합니다.
+   *
+   * @param streamId 스트림 ID
+   * @return 삭제된 행 수
+   */
+  @Modifying(flushAutomatically = true)
+  @Query("DELETE FROM BranchEntity b WHERE b.id.streamId = :streamId")
+  int deleteAllByStreamId(Long streamId);
 }
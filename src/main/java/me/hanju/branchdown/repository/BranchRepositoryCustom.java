@@ -0,0 +1,19 @@
+package me.hanju.branchdown.repository;
+
+import java.util.List;
+
+import me.hanju.branchdown.entity.BranchEntity;
+
+/** 저장 형식에 따라 SQL이 달라지는 Branch 조회 */
+public interface BranchRepositoryCustom {
+
+  /**
+   * path가 지정한 경로로 시작하는 브랜치, 즉 경로의 마지막 브랜치에서 분기한 브랜치와 그 하위 브랜치를 모두 조회합니다.
+   * (stream_id, path) 인덱스의 범위 스캔 하나로 처리됩니다.
+   *
+   * @param streamId 스트림 ID
+   * @param prefix   초기 브랜치부터 대상 브랜치까지의 branchNum 경로 (비어 있지 않아야 함)
+   * @return path가 prefix와 같거나 prefix 뒤에 값이 더 붙은 브랜치 목록 (branchNum 오름차순)
+   */
+  List<BranchEntity> findAllByPathPrefix(Long streamId, int[] prefix);
+}
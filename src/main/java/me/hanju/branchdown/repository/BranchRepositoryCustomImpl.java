@@ -0,0 +1,55 @@
+package me.hanju.branchdown.repository;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import me.hanju.branchdown.config.BranchdownProperties;
+import me.hanju.branchdown.config.BranchdownProperties.IntArrayFormat;
+import me.hanju.branchdown.entity.BranchEntity;
+import me.hanju.branchdown.util.PathUtils;
+import me.hanju.branchdown.util.VarInts;
+
+@RequiredArgsConstructor
+class BranchRepositoryCustomImpl implements BranchRepositoryCustom {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  private final BranchdownProperties properties;
+
+  @Override
+  public List<BranchEntity> findAllByPathPrefix(Long streamId, int[] prefix) {
+    Query query;
+    if (properties.storage().intArrayFormat() == IntArrayFormat.PACKED) {
+      // varint는 값마다 끝나는 위치가 정해져 있으므로 바이트 접두사가 곧 값 접두사이고,
+      // 마지막 바이트(최상위 비트 0)에 1을 더한 값이 접두사로 시작하는 바이트 배열의 상한이 된다
+      byte[] from = VarInts.encode(prefix);
+      byte[] to = Arrays.copyOf(from, from.length);
+      to[to.length - 1]++;
+      query = entityManager.createNativeQuery(
+          "SELECT * FROM branches WHERE stream_id = ?1 AND path >= ?2 AND path < ?3", BranchEntity.class)
+          .setParameter(2, from)
+          .setParameter(3, to);
+    } else {
+      // 문자열 접두사는 "0,1"로 "0,12"도 찾으므로 아래에서 값 단위로 다시 거른다
+      query = entityManager.createNativeQuery(
+          "SELECT * FROM branches WHERE stream_id = ?1 AND path LIKE ?2", BranchEntity.class)
+          .setParameter(2, PathUtils.format(prefix) + "%");
+    }
+    @SuppressWarnings("unchecked")
+    List<BranchEntity> branches = query.setParameter(1, streamId).getResultList();
+    return branches.stream()
+        .filter(branch -> startsWith(PathUtils.parse(branch.getPath()), prefix))
+        .sorted(Comparator.comparingInt(BranchEntity::getBranchNum))
+        .toList();
+  }
+
+  private static boolean startsWith(int[] path, int[] prefix) {
+    return path.length >= prefix.length && Arrays.equals(path, 0, prefix.length, prefix, 0, prefix.length);
+  }
+}
@@ -1,15 +1,112 @@
 package me.hanju.branchdown.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
 import me.hanju.branchdown.entity.PointEntity;
 
 @Repository
-public interface PointRepository extends JpaRepository<PointEntity, Long> {
+public interface PointRepository extends JpaRepository<PointEntity, Long>, PointRepositoryCustom {
+
+  /**
+   * Point를 쓰기 잠금(SELECT ... FOR UPDATE)과 함께 조회합니다.
+   * 같은 Point 아래로의 동시 추가를 직렬화하여 childBranchNums 갱신 유실과
+   * 같은 브랜치에 같은 depth의 Point가 중복 생성되는 것을 막습니다.
+   *
+   * @param id Point ID
+   * @return 잠금이 걸린 Point
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT p FROM PointEntity p WHERE p.id = :id")
+  Optional<PointEntity> findByIdForUpdate(Long id);
+
+  /**
+   * 여러 Point를 쓰기 잠금과 함께 조회합니다.
+   * 동시에 여러 Point를 잠그는 트랜잭션 간 교착을 피하도록 ID 순서로 잠급니다.
+   *
+   * @param ids Point ID 목록
+   * @return 잠금이 걸린 Point 목록 (ID 오름차순, 없는 ID는 제외)
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT p FROM PointEntity p WHERE p.id IN :ids ORDER BY p.id")
+  List<PointEntity> findAllByIdForUpdate(Collection<Long> ids);
+
+  /**
+   * Point가 속한 스트림 ID를 엔티티 로딩 없이 조회합니다.
+   *
+   * @param id Point ID
+   * @return 스트림 ID, Point가 없으면 빈 값
+   */
+  @Query("SELECT p.branch.id.streamId FROM PointEntity p WHERE p.id = :id")
+  Optional<Long> findStreamIdById(Long id);
+
+  /**
+   * 삭제 표시되지 않은 스트림의 Point를 조회합니다.
+   *
+   * @param id Point ID
+   * @return Point, 없거나 스트림이 삭제 표시되었으면 빈 값
+   */
+  @Query("""
+      SELECT p FROM PointEntity p
+      JOIN StreamEntity s ON s.id = p.branch.id.streamId
+      WHERE p.id = :id AND s.deletedAt IS NULL
+      """)
+  Optional<PointEntity> findLiveById(Long id);
+
+  /**
+   * 삭제 표시되지 않은 스트림의 Point들을 브랜치와 함께 조회합니다.
+   *
+   * @param ids Point ID 목록
+   * @return Point 목록 (순서 없음, 없거나 스트림이 삭제 표시된 Point는 제외)
+   */
+  @Query("""
+      SELECT p FROM PointEntity p
+      JOIN FETCH p.branch
+      JOIN StreamEntity s ON s.id = p.branch.id.streamId
+      WHERE p.id IN :ids AND s.deletedAt IS NULL
+      """)
+  List<PointEntity> findAllLiveByIdIn(Collection<Long> ids);
+
+  /**
+   * 스트림의 Point ID를 최대 limit개 조회합니다 (스트림 삭제 시 묶음 단위 삭제용).
+   * 정렬 없이 (stream_id, branch_num, depth) 인덱스에서 바로 읽으므로, 지운 만큼 다음 묶음의 앞부분이 됩니다.
+   *
+   * @param streamId 스트림 ID
+   * @param limit    최대 개수
+   * @return Point ID 목록
+   */
+  @Query("SELECT p.id FROM PointEntity p WHERE p.branch.id.streamId = :streamId")
+  List<Long> findIdsByStreamId(Long streamId, Limit limit);
+
+  /**
+   * Point를 엔티티 로딩 없이 한 번에 삭제합니다.
+   *
+   * @param ids Point ID 목록
+   * @return 삭제된 행 수
+   */
+  @Modifying(flushAutomatically = true)
+  @Query("DELETE FROM PointEntity p WHERE p.id IN :ids")
+  int deleteAllByIdIn(Collection<Long> ids);
+
+  /**
+   * 브랜치에 속한 Point 중 가장 깊은 depth, 즉 브랜치 경로의 끝을 조회합니다.
+   * (stream_id, branch_num, depth) 인덱스만으로 처리됩니다.
+   *
+   * @param streamId  스트림 ID
+   * @param branchNum 브랜치 번호
+   * @return 최대 depth, Point가 없으면 빈 값
+   */
+  @Query("SELECT MAX(p.depth) FROM PointEntity p WHERE p.branch.id.streamId = :streamId AND p.branch.id.branchNum = :branchNum")
+  Optional<Integer> findMaxDepth(Long streamId, int branchNum);
 
   /**
    * 특정 브랜치의 depth를 초과하는 Point들을 조회합니다.
@@ -37,6 +134,43 @@ public interface PointRepository extends JpaRepository<PointEntity, Long> {
       List<Integer> branchNums,
       int depth);
 
+  /**
+   * 브랜치 경로상의 Point들을 조회합니다.
+   * {@link #findAllUsingPath}와 같은 행을 대상으로, depth 순으로 branchNum이 처음 감소하는 지점부터를
+   * 윈도우 함수로 DB에서 잘라내어 실제 경로에 속하는 Point만 반환합니다.
+   * 절삭은 경로 전체에 대해 먼저 수행하고 depth 조건은 그 뒤에 적용합니다.
+   *
+   * @param streamId   스트림 ID
+   * @param branchNums 브랜치 경로 (path를 파싱한 결과 + 자기 자신의 branchNum)
+   * @param depth      이 depth를 초과하는 Point들만 조회
+   * @return 경로상의 Point 목록 (depth 오름차순)
+   */
+  @Query(value = """
+      SELECT * FROM (
+        SELECT c.*, SUM(c.dropped) OVER (ORDER BY c.depth ROWS UNBOUNDED PRECEDING) AS clipped
+        FROM (
+          SELECT p.*,
+            CASE WHEN p.branch_num < LAG(p.branch_num) OVER (ORDER BY p.depth) THEN 1 ELSE 0 END AS dropped
+          FROM points AS p
+          WHERE p.stream_id = :streamId
+            AND (p.depth, p.branch_num) IN (
+              SELECT p2.depth, MAX(p2.branch_num)
+              FROM points AS p2
+              WHERE p2.stream_id = :streamId
+                AND p2.branch_num IN :branchNums
+              GROUP BY p2.depth
+            )
+        ) AS c
+      ) AS w
+      WHERE w.clipped = 0
+        AND w.depth > :depth
+      ORDER BY w.depth
+      """, nativeQuery = true)
+  List<PointEntity> findPathUsingWindow(
+      Long streamId,
+      List<Integer> branchNums,
+      int depth);
+
   /**
    * 특정 Point와 그 조상 Point들을 조회합니다.
    * 같은 branch 경로 내에서 루트(depth=0) 초과, depth 이하의 Point들을 반환합니다.
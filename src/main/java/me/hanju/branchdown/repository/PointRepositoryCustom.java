@@ -0,0 +1,90 @@
+package me.hanju.branchdown.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import me.hanju.branchdown.dto.PointDto;
+
+/** 동적 SQL이 필요하거나 엔티티를 거치지 않는 Point 조회 */
+public interface PointRepositoryCustom {
+
+  /**
+   * 브랜치별 depth 구간에 속하는 Point들을 조회합니다.
+   * 구간마다 (stream_id, branch_num, depth) 인덱스의 범위 스캔 하나로 처리되며,
+   * 조회 결과는 엔티티(영속성 컨텍스트, 지연 로딩 프록시)를 거치지 않고 응답 DTO로 바로 변환됩니다.
+   *
+   * @param streamId 스트림 ID
+   * @param ranges   조회할 브랜치별 depth 구간
+   * @return 구간에 속하는 Point 목록 (depth 오름차순)
+   */
+  List<PointDto.Response> findResponsesInRanges(Long streamId, List<DepthRange> ranges);
+
+  /**
+   * {@link #findResponsesInRanges}와 같은 Point들을 fetchSize 단위로 읽어 오는 스트림으로 반환합니다.
+   * 트랜잭션 안에서 사용하고 다 읽은 뒤 닫아야 합니다.
+   *
+   * @param streamId  스트림 ID
+   * @param ranges    조회할 브랜치별 depth 구간
+   * @param fetchSize JDBC 드라이버가 한 번에 가져올 행 수
+   * @return 구간에 속하는 Point 스트림 (depth 오름차순)
+   */
+  Stream<PointDto.Response> streamResponsesInRanges(Long streamId, List<DepthRange> ranges, int fetchSize);
+
+  /**
+   * 스트림의 모든 Point를 fetchSize 단위로 읽어 오는 스트림으로 반환합니다.
+   * 트랜잭션 안에서 사용하고 다 읽은 뒤 닫아야 합니다.
+   *
+   * @param streamId  스트림 ID
+   * @param fetchSize JDBC 드라이버가 한 번에 가져올 행 수
+   * @return 모든 Point 스트림 (branchNum, depth 오름차순)
+   */
+  Stream<PointDto.Response> streamResponses(Long streamId, int fetchSize);
+
+  /**
+   * 스트림에서 branchNum이 fromBranchNum 이상이고 depth가 untilDepth 이하인 Point들을 조회합니다.
+   * (stream_id, branch_num, depth) 인덱스의 범위 스캔 하나로 처리됩니다.
+   *
+   * @param streamId      스트림 ID
+   * @param fromBranchNum 이 branchNum 이상
+   * @param untilDepth    이 depth 이하, {@link Integer#MAX_VALUE}이면 상한 없음
+   * @return Point 목록 (branchNum, depth 오름차순)
+   */
+  List<PointDto.Response> findResponsesFromBranch(Long streamId, int fromBranchNum, int untilDepth);
+
+  /**
+   * 한 브랜치의 depth 구간과, 여러 브랜치의 같은 depth 상한 이하에 속하는 Point들을 조회합니다 (하위 포인트 조회용).
+   * 브랜치마다 (stream_id, branch_num, depth) 인덱스의 범위 스캔으로 처리됩니다.
+   *
+   * @param streamId   스트림 ID
+   * @param range      첫 브랜치의 depth 구간 (상한은 나머지 브랜치에도 적용)
+   * @param branchNums 나머지 브랜치 목록
+   * @param limit      최대 개수
+   * @return Point 목록 (depth, branchNum 오름차순)
+   */
+  List<PointDto.Response> findResponsesBelow(Long streamId, DepthRange range, Collection<Integer> branchNums, int limit);
+
+  /**
+   * {@link #findResponsesBelow}가 조회할 Point 수를 셉니다. 인덱스만 읽고 행을 읽지 않습니다.
+   *
+   * @param streamId   스트림 ID
+   * @param range      첫 브랜치의 depth 구간 (상한은 나머지 브랜치에도 적용)
+   * @param branchNums 나머지 브랜치 목록
+   * @return Point 수
+   */
+  long countBelow(Long streamId, DepthRange range, Collection<Integer> branchNums);
+
+  /**
+   * 한 브랜치의 depth 구간 (afterDepth, untilDepth]
+   *
+   * @param branchNum  브랜치 번호
+   * @param afterDepth 이 depth 초과
+   * @param untilDepth 이 depth 이하, {@link Integer#MAX_VALUE}이면 상한 없음
+   */
+  record DepthRange(int branchNum, int afterDepth, int untilDepth) {
+
+    public boolean bounded() {
+      return untilDepth != Integer.MAX_VALUE;
+    }
+  }
+}
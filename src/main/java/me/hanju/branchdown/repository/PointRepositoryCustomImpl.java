@@ -0,0 +1,170 @@
+package me.hanju.branchdown.repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.stream.Stream;
+
+import org.hibernate.query.NativeQuery;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import me.hanju.branchdown.config.BranchdownProperties;
+import me.hanju.branchdown.config.BranchdownProperties.IntArrayFormat;
+import me.hanju.branchdown.config.IntArrayConverter;
+import me.hanju.branchdown.config.PackedIntArrayConverter;
+import me.hanju.branchdown.dto.PointDto;
+import me.hanju.branchdown.entity.PointEntity;
+
+@RequiredArgsConstructor
+class PointRepositoryCustomImpl implements PointRepositoryCustom {
+
+  /** PointDto.Response 생성자 순서와 같은 조회 컬럼 */
+  private static final String RESPONSE_COLUMNS = "point_id, branch_num, depth, item_id, child_branch_nums, created_at";
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  private final BranchdownProperties properties;
+
+  @Override
+  public List<PointDto.Response> findResponsesInRanges(Long streamId, List<DepthRange> ranges) {
+    if (ranges.isEmpty()) {
+      return List.of();
+    }
+
+    return rangeResponseQuery(streamId, ranges).getResultList();
+  }
+
+  @Override
+  public Stream<PointDto.Response> streamResponsesInRanges(Long streamId, List<DepthRange> ranges, int fetchSize) {
+    if (ranges.isEmpty()) {
+      return Stream.empty();
+    }
+
+    return rangeResponseQuery(streamId, ranges).setFetchSize(fetchSize).getResultStream();
+  }
+
+  @Override
+  public Stream<PointDto.Response> streamResponses(Long streamId, int fetchSize) {
+    return responseQuery("SELECT " + RESPONSE_COLUMNS + " FROM points WHERE stream_id = ?1 ORDER BY branch_num, depth")
+        .setParameter(1, streamId)
+        .setFetchSize(fetchSize)
+        .getResultStream();
+  }
+
+  @Override
+  public List<PointDto.Response> findResponsesFromBranch(Long streamId, int fromBranchNum, int untilDepth) {
+    boolean bounded = untilDepth != Integer.MAX_VALUE;
+    NativeQuery<PointDto.Response> query = responseQuery("SELECT " + RESPONSE_COLUMNS
+        + " FROM points WHERE stream_id = ?1 AND branch_num >= ?2" + (bounded ? " AND depth <= ?3" : "")
+        + " ORDER BY branch_num, depth")
+        .setParameter(1, streamId)
+        .setParameter(2, fromBranchNum);
+    if (bounded) {
+      query.setParameter(3, untilDepth);
+    }
+    return query.getResultList();
+  }
+
+  @Override
+  public List<PointDto.Response> findResponsesBelow(
+      Long streamId, DepthRange range, Collection<Integer> branchNums, int limit) {
+    List<Object> parameters = new ArrayList<>();
+    NativeQuery<PointDto.Response> query = responseQuery("SELECT " + RESPONSE_COLUMNS + " FROM points WHERE "
+        + belowCondition(streamId, range, branchNums, parameters) + " ORDER BY depth, branch_num");
+    setParameters(query, parameters);
+    return query.setMaxResults(limit).getResultList();
+  }
+
+  @Override
+  public long countBelow(Long streamId, DepthRange range, Collection<Integer> branchNums) {
+    List<Object> parameters = new ArrayList<>();
+    Query query = entityManager.createNativeQuery(
+        "SELECT COUNT(*) FROM points WHERE " + belowCondition(streamId, range, branchNums, parameters), Long.class);
+    setParameters(query, parameters);
+    return (Long) query.getSingleResult();
+  }
+
+  /** 첫 브랜치의 depth 구간 또는 나머지 브랜치, 그리고 모두에 적용되는 depth 상한 (파라미터는 순서대로 parameters에 추가) */
+  private static String belowCondition(
+      Long streamId, DepthRange range, Collection<Integer> branchNums, List<Object> parameters) {
+    parameters.addAll(List.of(streamId, range.branchNum(), range.afterDepth()));
+    String condition = "stream_id = ?1 AND branch_num = ?2 AND depth > ?3";
+    if (!branchNums.isEmpty()) {
+      parameters.add(branchNums);
+      condition = "stream_id = ?1 AND (branch_num = ?2 AND depth > ?3 OR branch_num IN (?4))";
+    }
+    if (range.bounded()) {
+      parameters.add(range.untilDepth());
+      condition += " AND depth <= ?" + parameters.size();
+    }
+    return condition;
+  }
+
+  private static void setParameters(Query query, List<Object> parameters) {
+    for (int i = 0; i < parameters.size(); i++) {
+      query.setParameter(i + 1, parameters.get(i));
+    }
+  }
+
+  private NativeQuery<PointDto.Response> rangeResponseQuery(Long streamId, List<DepthRange> ranges) {
+    NativeQuery<PointDto.Response> query = responseQuery(rangeQuery(ranges));
+    int position = 1;
+    for (DepthRange range : ranges) {
+      query.setParameter(position++, streamId);
+      query.setParameter(position++, range.branchNum());
+      query.setParameter(position++, range.afterDepth());
+      if (range.bounded()) {
+        query.setParameter(position++, range.untilDepth());
+      }
+    }
+    return query;
+  }
+
+  /**
+   * {@link #RESPONSE_COLUMNS}를 조회하는 SQL을 PointDto.Response로 바로 변환하는 쿼리를 만듭니다.
+   * points 테이블에 대기 중인 변경이 있으면 실행 전에 flush됩니다.
+   */
+  @SuppressWarnings("unchecked")
+  private NativeQuery<PointDto.Response> responseQuery(String sql) {
+    NativeQuery<PointDto.Response> query = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class)
+        .addSynchronizedEntityClass(PointEntity.class)
+        .addScalar("point_id", Long.class)
+        .addScalar("branch_num", Integer.class)
+        .addScalar("depth", Integer.class)
+        .addScalar("item_id", String.class);
+    // 엔티티 매핑(META-INF/orm-*.xml)과 같은 Converter로 읽는다
+    if (properties.storage().intArrayFormat() == IntArrayFormat.PACKED) {
+      query.addScalar("child_branch_nums", int[].class, byte[].class, PackedIntArrayConverter.class);
+    } else {
+      query.addScalar("child_branch_nums", int[].class, String.class, IntArrayConverter.class);
+    }
+    return query
+        .addScalar("created_at", Instant.class)
+        .setTupleTransformer((tuple, aliases) -> new PointDto.Response(
+            (Long) tuple[0], (Integer) tuple[1], (Integer) tuple[2], (String) tuple[3],
+            (int[]) tuple[4], (Instant) tuple[5]));
+  }
+
+  /** 구간마다 하나의 SELECT를 UNION ALL로 이어 붙인 쿼리 (EXPLAIN 테스트용으로 패키지 공개) */
+  static String rangeQuery(List<DepthRange> ranges) {
+    StringJoiner sql = new StringJoiner(" UNION ALL ", "", " ORDER BY depth");
+    int position = 1;
+    for (DepthRange range : ranges) {
+      StringBuilder select = new StringBuilder("SELECT ").append(RESPONSE_COLUMNS)
+          .append(" FROM points WHERE stream_id = ?").append(position++)
+          .append(" AND branch_num = ?").append(position++)
+          .append(" AND depth > ?").append(position++);
+      if (range.bounded()) {
+        select.append(" AND depth <= ?").append(position++);
+      }
+      sql.add(select);
+    }
+    return sql.toString();
+  }
+}
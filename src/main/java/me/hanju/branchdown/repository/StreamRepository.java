@@ -1,10 +1,135 @@
 package me.hanju.branchdown.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import me.hanju.branchdown.entity.StreamEntity;
 
 @Repository
 public interface StreamRepository extends JpaRepository<StreamEntity, Long> {
+
+  /**
+   * 스트림의 next_branch_num을 DB에서 count만큼 증가시킵니다.
+   * 컬렉션 크기와 무관하게 단일 UPDATE로 처리되며, 갱신한 행의 잠금은 트랜잭션 종료까지 유지됩니다.
+   *
+   * @param id    스트림 ID
+   * @param count 예약할 브랜치 번호 개수
+   * @return 갱신된 행 수 (스트림이 없으면 0)
+   */
+  @Modifying(flushAutomatically = true)
+  @Query("""
+      UPDATE StreamEntity s
+      SET s.nextBranchNum = s.nextBranchNum + :count
+      WHERE s.id = :id
+      """)
+  int incrementNextBranchNum(Long id, int count);
+
+  /**
+   * 스트림의 next_branch_num을 엔티티 로딩 없이 조회합니다.
+   *
+   * @param id 스트림 ID
+   * @return 다음에 붙일 브랜치 번호
+   */
+  @Query("""
+      SELECT s.nextBranchNum
+      FROM StreamEntity s
+      WHERE s.id = :id
+      """)
+  Optional<Integer> findNextBranchNumById(Long id);
+
+  /**
+   * 스트림의 가장 최근 추가 브랜치/포인트를 갱신합니다.
+   * 대기 중인 INSERT를 flush하지 않고 먼저 실행하여 스트림 행을 배타 잠금하며, 잠금은 트랜잭션 종료까지 유지됩니다.
+   * 포인트 INSERT는 FK로 스트림 행을 공유 잠금하므로, INSERT를 먼저 flush하면 같은 스트림의 서로 다른 말단에
+   * 동시에 추가하는 트랜잭션끼리 공유 잠금을 쥔 채 배타 잠금을 기다리며 교착됩니다 (InnoDB).
+   * 삭제 표시({@link #markDeleted})와 같은 행을 잠그므로, 삭제 표시가 먼저 커밋되었다면 갱신되지 않습니다.
+   *
+   * @param id        스트림 ID
+   * @param branchNum 포인트가 추가된 브랜치 번호
+   * @param pointId   추가된 포인트 ID
+   * @return 갱신된 행 수 (스트림이 없거나 삭제 표시되었으면 0)
+   */
+  @Modifying
+  @Query("""
+      UPDATE StreamEntity s
+      SET s.latestBranchNum = :branchNum, s.latestPointId = :pointId
+      WHERE s.id = :id AND s.deletedAt IS NULL
+      """)
+  int updateLatest(Long id, int branchNum, Long pointId);
+
+  /**
+   * 스트림의 latest_branch_num을 엔티티 로딩 없이 조회합니다.
+   * 영속성 컨텍스트에 남아 있는 엔티티가 아닌 DB의 최신 값을 반환합니다.
+   *
+   * @param id 스트림 ID
+   * @return 가장 최근에 포인트가 추가된 브랜치 번호
+   */
+  @Query("""
+      SELECT s.latestBranchNum
+      FROM StreamEntity s
+      WHERE s.id = :id
+      """)
+  Optional<Integer> findLatestBranchNumById(Long id);
+
+  /**
+   * 스트림을 삭제 표시합니다. 이후 스트림은 조회되지 않고 pointDown의 {@link #updateLatest}도 실패합니다.
+   *
+   * @param id        스트림 ID
+   * @param deletedAt 삭제 요청 시각
+   * @return 갱신된 행 수 (스트림이 없거나 이미 삭제 표시되었으면 0)
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("""
+      UPDATE StreamEntity s
+      SET s.deletedAt = :deletedAt
+      WHERE s.id = :id AND s.deletedAt IS NULL
+      """)
+  int markDeleted(Long id, Instant deletedAt);
+
+  /**
+   * 여러 스트림을 한 번에 삭제 표시합니다 ({@link #markDeleted} 참조).
+   *
+   * @param ids       스트림 ID 목록
+   * @param deletedAt 삭제 요청 시각
+   * @return 갱신된 행 수
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("""
+      UPDATE StreamEntity s
+      SET s.deletedAt = :deletedAt
+      WHERE s.id IN :ids AND s.deletedAt IS NULL
+      """)
+  int markAllDeleted(Collection<Long> ids, Instant deletedAt);
+
+  /**
+   * 지정한 시각 전에 삭제 표시되었지만 아직 정리되지 않은 스트림을 조회합니다.
+   * 엔티티의 조회 조건(삭제 표시 제외)을 거치지 않도록 네이티브 쿼리를 사용합니다.
+   *
+   * @param before 기준 시각
+   * @return 스트림 ID 목록 (삭제 요청 순)
+   */
+  @Query(value = """
+      SELECT stream_id
+      FROM streams
+      WHERE deleted_at < :before
+      ORDER BY deleted_at
+      """, nativeQuery = true)
+  List<Long> findDeletedIdsBefore(Instant before);
+
+  /**
+   * 삭제 표시된 스트림 행을 지웁니다. 브랜치와 포인트를 먼저 지워야 합니다.
+   *
+   * @param id 스트림 ID
+   * @return 삭제된 행 수
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(value = "DELETE FROM streams WHERE stream_id = :id AND deleted_at IS NOT NULL", nativeQuery = true)
+  int deleteMarked(Long id);
 }
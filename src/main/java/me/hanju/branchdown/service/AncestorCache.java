@@ -0,0 +1,206 @@
+package me.hanju.branchdown.service;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import me.hanju.branchdown.config.BranchdownProperties;
+import me.hanju.branchdown.config.ReplicaRoutingDataSource;
+import me.hanju.branchdown.constant.StreamConstants;
+import me.hanju.branchdown.dto.PointDto;
+import me.hanju.branchdown.util.TransactionCallbacks;
+
+/**
+ * 포인트 ID별 조상 목록(getAncestors 결과) 캐시
+ *
+ * <p>포인트마다 노드 하나를 두고 노드가 부모 노드를 가리키게 하여, 같은 조상을 공유하는 목록들이
+ * 조상 노드를 함께 사용합니다. 따라서 목록 하나가 늘어날 때마다 노드 하나만 추가되며, 크기 제한은 노드의
+ * 대략적인 바이트 수로 계산합니다. 적중/실패 횟수 등은 {@code cache=ancestors} 태그의 {@code cache.*} 메트릭으로
+ * 노출됩니다.</p>
+ *
+ * <p>포인트에서 바뀔 수 있는 값은 childBranchNums 뿐이며, 이 인스턴스의 pointDown은 커밋 후 부모 노드의
+ * childBranchNums를 갱신하고 새 포인트의 노드를 이어 붙입니다. 다른 인스턴스에서 추가된 분기는 반영되지 않으므로
+ * 여러 인스턴스로 운영할 때는 조상의 childBranchNums가 늦게 반영될 수 있습니다 (기본값 비활성).</p>
+ *
+ * <p>캐시에서 밀려난 노드를 가리키는 목록은 조회 시 실패로 처리하여 DB에서 다시 읽습니다. DB에서 읽는 동안
+ * 커밋된 pointDown이 있으면 읽은 childBranchNums가 오래되었을 수 있으므로 캐시하지 않습니다.
+ * 복제본에서 읽은 목록은 이미 커밋된 분기가 아직 반영되지 않았을 수 있으므로 역시 캐시하지 않습니다
+ * ({@link ReplicaRoutingDataSource#isReplicaRead()}).</p>
+ */
+@Component
+public class AncestorCache {
+
+  /** 노드 하나의 고정 크기 추정치 (객체 헤더, 필드, Instant) */
+  private static final int NODE_BASE_WEIGHT = 96;
+
+  private final boolean enabled;
+  private final Cache<Long, Node> cache;
+  private final ConcurrentStatsCounter stats = new ConcurrentStatsCounter();
+  /** 커밋된 pointDown마다 증가 (읽는 동안 바뀌었는지 확인용) */
+  private final AtomicLong version = new AtomicLong();
+  /** 캐시 갱신(노드 추가, childBranchNums 갱신)을 직렬화 */
+  private final Object lock = new Object();
+
+  public AncestorCache(BranchdownProperties properties, MeterRegistry meterRegistry) {
+    BranchdownProperties.Cache config = properties.cache();
+    this.enabled = config.ancestorsEnabled();
+    this.cache = Caffeine.newBuilder()
+        .maximumWeight(config.ancestorsMaxWeight().toBytes())
+        .weigher((Long id, Node node) -> node.weight())
+        .recordStats(() -> stats)
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "ancestors");
+  }
+
+  /** DB에서 조상 목록을 읽기 전에 호출하여, {@link #put}에 넘길 버전을 받습니다. */
+  public long version() {
+    return version.get();
+  }
+
+  /**
+   * 캐시된 조상 목록을 반환합니다.
+   *
+   * @param pointId 기준 포인트 ID
+   * @return 자신 포함 조상 목록 (depth 오름차순, 루트 제외), 캐시에 없으면 null
+   */
+  public List<PointDto.Response> get(Long pointId) {
+    if (!enabled) {
+      return null;
+    }
+
+    Node tip = cache.asMap().get(pointId);
+    if (tip == null) {
+      stats.recordMisses(1);
+      return null;
+    }
+
+    PointDto.Response[] ancestors = new PointDto.Response[tip.length];
+    int i = ancestors.length;
+    for (Node node = tip; node != null; node = node.parent) {
+      // 경로 중간의 노드가 밀려났거나 교체되었으면 childBranchNums 갱신을 놓쳤을 수 있다
+      if (node != tip && cache.asMap().get(node.id) != node) {
+        stats.recordMisses(1);
+        return null;
+      }
+      ancestors[--i] = node.toResponse();
+    }
+    stats.recordHits(1);
+    return Arrays.asList(ancestors);
+  }
+
+  /**
+   * DB에서 읽은 조상 목록을 캐시합니다. 읽기 시작한 뒤 커밋된 pointDown이 있거나, 현재 트랜잭션이 복제본에서
+   * 읽었으면 캐시하지 않습니다.
+   *
+   * @param streamId  스트림 ID
+   * @param version   읽기 전에 받은 {@link #version()}
+   * @param ancestors 자신 포함 조상 목록 (depth 오름차순, 루트 제외)
+   */
+  public void put(Long streamId, long version, List<PointDto.Response> ancestors) {
+    if (!enabled || ReplicaRoutingDataSource.isReplicaRead()) {
+      return;
+    }
+
+    synchronized (lock) {
+      if (this.version.get() != version) {
+        return;
+      }
+      Node parent = null;
+      for (PointDto.Response point : ancestors) {
+        Node node = cache.asMap().get(point.id());
+        if (node == null || node.parent != parent) {
+          node = new Node(streamId, point, parent);
+          cache.put(point.id(), node);
+        }
+        parent = node;
+      }
+    }
+  }
+
+  /**
+   * 현재 트랜잭션이 커밋된 뒤 부모 포인트의 childBranchNums를 갱신하고, 부모가 캐시되어 있으면
+   * 새로 추가된 포인트들을 이어 붙입니다.
+   *
+   * @param streamId 스트림 ID
+   * @param parent   새 포인트들의 부모 (갱신된 childBranchNums 포함)
+   * @param points   부모 아래에 순서대로 추가된 포인트
+   */
+  public void extendAfterCommit(Long streamId, PointDto.Response parent, List<PointDto.Response> points) {
+    if (!enabled) {
+      return;
+    }
+
+    TransactionCallbacks.afterCommit(() -> {
+      synchronized (lock) {
+        version.incrementAndGet();
+        Node node = null;
+        if (parent.depth() != StreamConstants.ROOT_POINT_DEPTH) {
+          node = cache.asMap().get(parent.id());
+          if (node == null) {
+            return;
+          }
+          // 같은 부모 아래로의 커밋 순서와 이 콜백의 실행 순서는 다를 수 있으므로 더 긴 목록만 반영
+          if (parent.childBranchNums().length > node.childBranchNums.length) {
+            node.childBranchNums = parent.childBranchNums();
+          }
+        }
+        for (PointDto.Response point : points) {
+          node = new Node(streamId, point, node);
+          cache.put(point.id(), node);
+        }
+      }
+    });
+  }
+
+  /** 현재 트랜잭션이 커밋된 뒤 스트림의 모든 노드를 캐시에서 지웁니다. */
+  public void evictStreamAfterCommit(Long streamId) {
+    if (!enabled) {
+      return;
+    }
+
+    TransactionCallbacks.afterCommit(() -> cache.asMap().values().removeIf(node -> node.streamId.equals(streamId)));
+  }
+
+  /** 포인트 하나와 부모 노드 */
+  private static final class Node {
+    private final Long streamId;
+    private final Long id;
+    private final Integer branchNum;
+    private final Integer depth;
+    private final String itemId;
+    private final Instant createdAt;
+    private final Node parent;
+    /** 자신 포함 조상 수 */
+    private final int length;
+    private volatile int[] childBranchNums;
+
+    private Node(Long streamId, PointDto.Response point, Node parent) {
+      this.streamId = streamId;
+      this.id = point.id();
+      this.branchNum = point.branchNum();
+      this.depth = point.depth();
+      this.itemId = point.itemId();
+      this.createdAt = point.createdAt();
+      this.childBranchNums = point.childBranchNums();
+      this.parent = parent;
+      this.length = parent == null ? 1 : parent.length + 1;
+    }
+
+    private PointDto.Response toResponse() {
+      return new PointDto.Response(id, branchNum, depth, itemId, childBranchNums, createdAt);
+    }
+
+    private int weight() {
+      return NODE_BASE_WEIGHT + (itemId == null ? 0 : itemId.length() * 2) + childBranchNums.length * 4;
+    }
+  }
+}
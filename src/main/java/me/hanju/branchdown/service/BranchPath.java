@@ -0,0 +1,66 @@
+package me.hanju.branchdown.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import me.hanju.branchdown.repository.PointRepositoryCustom.DepthRange;
+
+/**
+ * 초기 브랜치부터 특정 브랜치까지의 경로와 각 브랜치의 분기 depth
+ *
+ * @param branchNums 경로상의 branchNum (초기 브랜치부터 순서대로, 마지막이 대상 브랜치)
+ * @param forkDepths branchNums와 같은 순서의 분기 depth
+ */
+public record BranchPath(int[] branchNums, int[] forkDepths) {
+
+  /** 대상 브랜치의 branchNum */
+  public int branchNum() {
+    return branchNums[branchNums.length - 1];
+  }
+
+  /** 대상 브랜치의 분기 depth */
+  public int forkDepth() {
+    return forkDepths[forkDepths.length - 1];
+  }
+
+  /**
+   * 이 경로 끝에서 분기한 자식 브랜치의 경로를 만듭니다.
+   *
+   * @param childBranchNum 자식 브랜치의 branchNum
+   * @param childForkDepth 자식 브랜치의 분기 depth
+   * @return 자식 브랜치의 경로
+   */
+  public BranchPath append(int childBranchNum, int childForkDepth) {
+    int[] childBranchNums = Arrays.copyOf(branchNums, branchNums.length + 1);
+    int[] childForkDepths = Arrays.copyOf(forkDepths, forkDepths.length + 1);
+    childBranchNums[branchNums.length] = childBranchNum;
+    childForkDepths[forkDepths.length] = childForkDepth;
+    return new BranchPath(childBranchNums, childForkDepths);
+  }
+
+  /** 경로상의 branchNum 목록 (IN 조건용) */
+  public List<Integer> branchNumList() {
+    return Arrays.stream(branchNums).boxed().toList();
+  }
+
+  /**
+   * (afterDepth, untilDepth] 사이의 경로를 브랜치별 depth 구간으로 나눕니다.
+   * 경로상의 i번째 브랜치는 (forkDepths[i], forkDepths[i + 1]] 구간을, 마지막 브랜치는 끝까지를 담당합니다.
+   *
+   * @param afterDepth 이 depth 초과
+   * @param untilDepth 이 depth 이하, {@link Integer#MAX_VALUE}이면 상한 없음
+   * @return 비어 있지 않은 구간 목록 (depth 오름차순)
+   */
+  public List<DepthRange> ranges(int afterDepth, int untilDepth) {
+    List<DepthRange> ranges = new ArrayList<>(branchNums.length);
+    for (int i = 0; i < branchNums.length; i++) {
+      int from = Math.max(forkDepths[i], afterDepth);
+      int to = i + 1 < branchNums.length ? Math.min(forkDepths[i + 1], untilDepth) : untilDepth;
+      if (from < to) {
+        ranges.add(new DepthRange(branchNums[i], from, to));
+      }
+    }
+    return ranges;
+  }
+}
@@ -0,0 +1,73 @@
+package me.hanju.branchdown.service;
+
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import me.hanju.branchdown.config.BranchdownProperties;
+import me.hanju.branchdown.config.ReplicaRoutingDataSource;
+import me.hanju.branchdown.entity.id.BranchId;
+import me.hanju.branchdown.util.TransactionCallbacks;
+
+/**
+ * (streamId, branchNum)별 {@link BranchPath} 캐시
+ *
+ * <p>브랜치의 경로와 분기 depth는 생성 후 바뀌지 않으므로 만료 없이 크기로만 제한하며,
+ * 스트림 삭제 시에만 해당 스트림의 항목을 지웁니다. 적중/실패 횟수 등은 {@code cache=branchPath} 태그의
+ * {@code cache.*} 메트릭으로 노출됩니다.</p>
+ *
+ * <p>롤백된 분기의 branchNum은 다시 예약되므로, 트랜잭션 안에서의 추가/삭제는 커밋 후에 반영합니다.
+ * 복제본에서 읽은 경로는 이미 삭제 표시되어 캐시에서 지워진 스트림의 것일 수 있으므로 캐시하지 않습니다
+ * ({@link ReplicaRoutingDataSource#isReplicaRead()}).</p>
+ */
+@Component
+public class BranchPathCache {
+
+  private final Cache<BranchId, BranchPath> cache;
+
+  public BranchPathCache(BranchdownProperties properties, MeterRegistry meterRegistry) {
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(properties.cache().branchPathSize())
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "branchPath");
+  }
+
+  /**
+   * 캐시된 경로를 반환하고, 없으면 loader로 읽어 캐시합니다 (현재 트랜잭션이 복제본에서 읽었으면 캐시하지 않음).
+   *
+   * @param id     브랜치 ID
+   * @param loader 캐시에 없을 때 경로를 읽는 함수 (브랜치가 없으면 null)
+   * @return 브랜치 경로, 브랜치가 없으면 null
+   */
+  public BranchPath get(BranchId id, Function<BranchId, BranchPath> loader) {
+    BranchPath path = cache.getIfPresent(id);
+    if (path == null) {
+      path = loader.apply(id);
+      if (path != null && !ReplicaRoutingDataSource.isReplicaRead()) {
+        cache.put(id, path);
+      }
+    }
+    return path;
+  }
+
+  /** 캐시된 경로를 반환하고, 없으면 null */
+  public BranchPath getIfPresent(BranchId id) {
+    return cache.getIfPresent(id);
+  }
+
+  /** 현재 트랜잭션이 커밋된 뒤 경로를 캐시합니다. */
+  public void putAfterCommit(BranchId id, BranchPath path) {
+    TransactionCallbacks.afterCommit(() -> cache.put(id, path));
+  }
+
+  /** 현재 트랜잭션이 커밋된 뒤 스트림의 모든 경로를 캐시에서 지웁니다. */
+  public void evictStreamAfterCommit(Long streamId) {
+    TransactionCallbacks.afterCommit(() -> cache.asMap().keySet().removeIf(id -> id.getStreamId().equals(streamId)));
+  }
+}
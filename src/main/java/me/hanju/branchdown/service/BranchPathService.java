@@ -0,0 +1,91 @@
+package me.hanju.branchdown.service;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import me.hanju.branchdown.entity.BranchEntity;
+import me.hanju.branchdown.entity.id.BranchId;
+import me.hanju.branchdown.repository.BranchRepository;
+import me.hanju.branchdown.util.PathUtils;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Timed("branchdown.service")
+public class BranchPathService {
+
+  private final BranchRepository branchRepository;
+  private final BranchPathCache branchPathCache;
+
+  /**
+   * 브랜치의 경로와 경로상 각 브랜치의 분기 depth를 조회합니다.
+   * 캐시에 있으면 branches 테이블을 읽지 않습니다. 삭제 표시된 스트림의 브랜치는 없는 것으로 봅니다
+   * (삭제 표시가 커밋되면 해당 스트림의 캐시 항목도 지워짐).
+   *
+   * @param id 대상 브랜치 ID
+   * @return 초기 브랜치부터 대상 브랜치까지의 경로, 브랜치가 없으면 빈 값
+   */
+  public Optional<BranchPath> findPath(BranchId id) {
+    return Optional.ofNullable(branchPathCache.get(id,
+        key -> branchRepository.findLiveById(key).map(this::resolve).orElse(null)));
+  }
+
+  /**
+   * 이미 읽은 브랜치의 경로와 경로상 각 브랜치의 분기 depth를 조회합니다.
+   *
+   * @param branch 대상 브랜치
+   * @return 초기 브랜치부터 대상 브랜치까지의 경로
+   */
+  public BranchPath getPath(BranchEntity branch) {
+    return branchPathCache.get(branch.getId(), key -> resolve(branch));
+  }
+
+  /**
+   * 새로 분기한 브랜치의 경로를 부모 경로로부터 만들어 커밋 후 캐시합니다.
+   *
+   * @param parent 분기한 지점이 속한 브랜치
+   * @param child  새 브랜치
+   */
+  public void cacheForkedPath(BranchEntity parent, BranchEntity child) {
+    branchPathCache.putAfterCommit(child.getId(), getPath(parent).append(child.getBranchNum(), child.getForkDepth()));
+  }
+
+  private BranchPath resolve(BranchEntity branch) {
+    int[] ancestors = PathUtils.parse(branch.getPath());
+    if (ancestors.length > 0) {
+      // 부모 경로가 캐시되어 있으면 branches 테이블을 읽지 않는다
+      BranchPath parent = branchPathCache.getIfPresent(
+          new BranchId(branch.getId().getStreamId(), ancestors[ancestors.length - 1]));
+      if (parent != null) {
+        return parent.append(branch.getBranchNum(), branch.getForkDepth());
+      }
+    }
+
+    int[] branchNums = PathUtils.append(ancestors, branch.getBranchNum());
+    int[] forkDepths = new int[branchNums.length];
+    forkDepths[ancestors.length] = branch.getForkDepth();
+
+    if (ancestors.length > 0) {
+      Map<Integer, Integer> forkDepthByBranchNum = branchRepository
+          .findAllByIdStreamIdAndIdBranchNumIn(
+              branch.getId().getStreamId(), Arrays.stream(ancestors).boxed().toList())
+          .stream()
+          .collect(Collectors.toMap(BranchEntity::getBranchNum, BranchEntity::getForkDepth));
+      for (int i = 0; i < ancestors.length; i++) {
+        Integer forkDepth = forkDepthByBranchNum.get(ancestors[i]);
+        if (forkDepth == null) {
+          throw new IllegalStateException("Branch not found in path: " + ancestors[i]);
+        }
+        forkDepths[i] = forkDepth;
+      }
+    }
+    return new BranchPath(branchNums, forkDepths);
+  }
+}
@@ -0,0 +1,91 @@
+package me.hanju.branchdown.service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import me.hanju.branchdown.config.BranchdownProperties.PathQueryMode;
+import me.hanju.branchdown.dto.PointDto;
+
+/**
+ * 경로 조회 메트릭
+ *
+ * <p>조회 작업({@code operation} 태그)별로 경로 길이(브랜치 수), 반환한 마지막 포인트의 depth,
+ * DB에서 읽은 행 수와 절삭 후 반환한 행 수, Java 절삭에 걸린 시간을 기록합니다.
+ * 서비스 메서드와 리포지토리 메서드의 실행 시간은 각각 {@code branchdown.service},
+ * {@code spring.data.repository.invocations} 타이머로 기록되므로, 함께 보면 조회 시간이 어디에 쓰였는지 나눠 볼 수 있습니다.</p>
+ *
+ * <ul>
+ *   <li>{@code branchdown.path.length}: 경로상 브랜치 수</li>
+ *   <li>{@code branchdown.path.depth}: 반환한 마지막 포인트의 depth</li>
+ *   <li>{@code branchdown.path.rows.fetched}, {@code branchdown.path.rows.returned}: 읽은/반환한 행 수 ({@code mode} 태그 포함)</li>
+ *   <li>{@code branchdown.path.clip}: Java에서 경로 밖 포인트를 걸러낸 시간 ({@code mode} 태그 포함, range 방식은 없음)</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class PathQueryMetrics {
+
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * 조회한 경로의 길이와 반환한 포인트의 depth를 기록합니다.
+   *
+   * @param operation 조회 작업
+   * @param path      조회한 경로
+   * @param points    반환한 포인트 (depth 오름차순)
+   */
+  public void recordPath(String operation, BranchPath path, List<PointDto.Response> points) {
+    summary("branchdown.path.length", "branches", operation).record(path.branchNums().length);
+    if (!points.isEmpty()) {
+      summary("branchdown.path.depth", null, operation).record(points.getLast().depth());
+    }
+  }
+
+  /**
+   * DB에서 읽은 행 수와 절삭 후 반환한 행 수를 기록합니다.
+   *
+   * @param operation 조회 작업
+   * @param mode      경로 조회 방식
+   * @param fetched   DB에서 읽은 행 수
+   * @param returned  반환한 행 수
+   */
+  public void recordRows(String operation, PathQueryMode mode, int fetched, int returned) {
+    summary("branchdown.path.rows.fetched", "rows", operation, "mode", tag(mode)).record(fetched);
+    summary("branchdown.path.rows.returned", "rows", operation, "mode", tag(mode)).record(returned);
+  }
+
+  /**
+   * Java에서 경로를 절삭하는 시간을 기록합니다.
+   *
+   * @param operation 조회 작업
+   * @param mode      경로 조회 방식
+   * @param clipping  절삭 작업
+   * @return 절삭 결과
+   */
+  public <T> T clip(String operation, PathQueryMode mode, Supplier<T> clipping) {
+    return Timer.builder("branchdown.path.clip")
+        .description("DB에서 읽은 포인트 중 경로 밖의 포인트를 걸러낸 시간")
+        .tags("operation", operation, "mode", tag(mode))
+        .register(meterRegistry)
+        .record(clipping);
+  }
+
+  private DistributionSummary summary(String name, String baseUnit, String operation, String... tags) {
+    return DistributionSummary.builder(name)
+        .baseUnit(baseUnit)
+        .tag("operation", operation)
+        .tags(tags)
+        .register(meterRegistry);
+  }
+
+  private static String tag(PathQueryMode mode) {
+    return mode.name().toLowerCase(Locale.ROOT);
+  }
+}
@@ -1,31 +1,48 @@
 package me.hanju.branchdown.service;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.IntSupplier;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import me.hanju.branchdown.config.BranchdownProperties;
+import me.hanju.branchdown.config.BranchdownProperties.PathQueryMode;
+import me.hanju.branchdown.constant.StreamConstants;
 import me.hanju.branchdown.dto.PointDto;
 import me.hanju.branchdown.entity.BranchEntity;
 import me.hanju.branchdown.entity.PointEntity;
-import me.hanju.branchdown.entity.StreamEntity;
 import me.hanju.branchdown.entity.id.BranchId;
 import me.hanju.branchdown.repository.BranchRepository;
 import me.hanju.branchdown.repository.PointRepository;
+import me.hanju.branchdown.repository.PointRepositoryCustom.DepthRange;
+import me.hanju.branchdown.repository.StreamRepository;
 import me.hanju.branchdown.util.PathUtils;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
+@Timed("branchdown.service")
 public class PointService {
 
   private final PointRepository pointRepository;
   private final BranchRepository branchRepository;
+  private final StreamRepository streamRepository;
+  private final BranchPathService branchPathService;
+  private final AncestorCache ancestorCache;
+  private final PathQueryMetrics pathQueryMetrics;
+  private final BranchdownProperties properties;
 
   /**
    * 지정한 PointEntity 아래에 적절한 브랜칭을 후 PointEntity를 새로 추가한다.
@@ -36,37 +53,197 @@ public class PointService {
    */
   @Transactional
   public PointDto.Response pointDown(Long id, String itemId) {
-    // 1. 기준 포인트 확인
-    PointEntity point = pointRepository.findById(id)
+    // 1. 기준 포인트 확인 (같은 포인트 아래로의 동시 추가는 행 잠금으로 직렬화)
+    PointEntity point = pointRepository.findByIdForUpdate(id)
         .orElseThrow(() -> new NoSuchElementException("Point not found"));
 
     // 2. 브랜치 상태 확인
-    BranchEntity branch;
-    // 2-1. 이어지는 브랜치가 없다면 기존 브랜치 사용
-    if (point.getChildBranchNums().length == 0) {
-      branch = point.getBranch();
-    } else {
-      // 2-2. 이어지는 브랜치가 있다면 신규 브랜치 생성
-      BranchEntity parentBranch = point.getBranch();
-      StreamEntity stream = parentBranch.getStream();
-      String newPath = PathUtils.append(parentBranch.getPath(), parentBranch.getBranchNum());
-
-      branch = branchRepository.save(
-          BranchEntity.builder()
-              .id(new BranchId(stream.getId(), stream.getNextBranchNum()))
-              .stream(stream)
-              .path(newPath)
-              .build());
-      stream.addBranch(branch);
-    }
+    BranchEntity branch = resolveBranch(point);
     point.addChildBranchNum(branch.getBranchNum());
 
     // 3. 포인트 추가
     PointEntity newPoint = pointRepository.save(
         PointEntity.builder().branch(branch).depth(point.getDepth() + 1).itemId(itemId).build());
-    branch.addPoint(newPoint);
 
-    return newPoint.toResponse();
+    // 4. 스트림의 최신 브랜치/포인트 갱신
+    updateLatest(branch.getId().getStreamId(), branch.getBranchNum(), newPoint.getId());
+
+    PointDto.Response response = newPoint.toResponse();
+    ancestorCache.extendAfterCommit(branch.getId().getStreamId(), point.toResponse(), List.of(response));
+    return response;
+  }
+
+  /**
+   * 지정한 PointEntity 아래에 여러 PointEntity를 하나의 선형 체인으로 추가한다.
+   * 브랜치는 최대 1개만 생성되며, INSERT는 JDBC 배치로 묶여 실행된다.
+   *
+   * @param id      지정할 PointEntity의 id
+   * @param itemIds 순서대로 이어 붙일 item ID 목록 (1 ~ {@value StreamConstants#MAX_BATCH_DOWN_SIZE}개)
+   * @return 추가된 PointEntity 목록 (depth 오름차순)
+   */
+  @Transactional
+  public List<PointDto.Response> pointDownBatch(Long id, List<String> itemIds) {
+    if (itemIds == null || itemIds.isEmpty() || itemIds.size() > StreamConstants.MAX_BATCH_DOWN_SIZE) {
+      throw new IllegalArgumentException(
+          "itemIds must contain between 1 and " + StreamConstants.MAX_BATCH_DOWN_SIZE + " item ids");
+    }
+
+    // 1. 기준 포인트 확인
+    PointEntity point = pointRepository.findByIdForUpdate(id)
+        .orElseThrow(() -> new NoSuchElementException("Point not found"));
+
+    // 2. 브랜치 상태 확인 (체인 전체가 같은 브랜치에 속한다)
+    BranchEntity branch = resolveBranch(point);
+    point.addChildBranchNum(branch.getBranchNum());
+
+    // 3. 포인트 추가 (마지막을 제외한 포인트는 같은 브랜치로 이어진다)
+    int[] continuation = { branch.getBranchNum() };
+    List<PointEntity> newPoints = new ArrayList<>(itemIds.size());
+    for (int i = 0; i < itemIds.size(); i++) {
+      boolean last = i == itemIds.size() - 1;
+      newPoints.add(PointEntity.builder()
+          .branch(branch)
+          .depth(point.getDepth() + 1 + i)
+          .itemId(itemIds.get(i))
+          .childBranchNums(last ? new int[0] : continuation.clone())
+          .build());
+    }
+
+    List<PointEntity> saved = pointRepository.saveAll(newPoints);
+
+    // 4. 스트림의 최신 브랜치/포인트 갱신 (체인의 마지막 포인트)
+    updateLatest(branch.getId().getStreamId(), branch.getBranchNum(), saved.get(saved.size() - 1).getId());
+
+    List<PointDto.Response> responses = saved.stream().map(PointEntity::toResponse).toList();
+    ancestorCache.extendAfterCommit(branch.getId().getStreamId(), point.toResponse(), responses);
+    return responses;
+  }
+
+  /**
+   * 같은 스트림에 대한 여러 pointDown 요청을 하나의 트랜잭션으로 처리한다 ({@link PointWriteQueue} 전용).
+   * 요청 순서대로 {@link #pointDown}을 호출한 것과 결과가 같다.
+   * <p>
+   * 기준 포인트는 한 번에 잠그고 분기에 필요한 브랜치 번호도 한 번에 예약하므로,
+   * 새 브랜치/포인트의 INSERT는 스트림 최신 정보를 갱신(스트림 행 잠금)한 뒤 커밋 시 JDBC 배치로 묶여 실행된다.
+   * </p>
+   *
+   * @param streamId 요청이 속한 스트림 ID
+   * @param ids      요청별 기준 PointEntity의 id
+   * @param itemIds  요청별 새 PointEntity의 item ID
+   * @return 요청 순서의 추가 결과, 기준 포인트가 없거나 다른 스트림에 속하면 해당 위치는 null
+   */
+  @Transactional
+  public List<PointDto.Response> pointDownAll(Long streamId, List<Long> ids, List<String> itemIds) {
+    // 1. 기준 포인트를 한 번에 잠금
+    Map<Long, PointEntity> points = new HashMap<>();
+    for (PointEntity point : pointRepository.findAllByIdForUpdate(new TreeSet<>(ids))) {
+      if (point.getBranch().getId().getStreamId().equals(streamId)) {
+        points.put(point.getId(), point);
+      }
+    }
+
+    // 2. 요청 순서대로 추가했을 때 분기가 일어나는 횟수만큼 브랜치 번호 예약
+    Map<Long, Integer> childCounts = new HashMap<>();
+    int forks = 0;
+    for (Long id : ids) {
+      PointEntity point = points.get(id);
+      if (point != null && childCounts.merge(id, 1, Integer::sum) + point.getChildBranchNums().length > 1) {
+        forks++;
+      }
+    }
+    int[] nextBranchNum = { forks > 0 ? reserveBranchNums(streamId, forks) : 0 };
+
+    // 3. 포인트 추가
+    List<PointDto.Response> responses = new ArrayList<>(ids.size());
+    PointDto.Response latest = null;
+    for (int i = 0; i < ids.size(); i++) {
+      PointEntity point = points.get(ids.get(i));
+      if (point == null) {
+        responses.add(null);
+        continue;
+      }
+      BranchEntity branch = resolveBranch(point, () -> nextBranchNum[0]++);
+      point.addChildBranchNum(branch.getBranchNum());
+      PointEntity newPoint = pointRepository.save(
+          PointEntity.builder().branch(branch).depth(point.getDepth() + 1).itemId(itemIds.get(i)).build());
+      latest = newPoint.toResponse();
+      responses.add(latest);
+      ancestorCache.extendAfterCommit(streamId, point.toResponse(), List.of(latest));
+    }
+
+    // 4. 스트림의 최신 브랜치/포인트 갱신 (마지막 요청)
+    if (latest != null) {
+      updateLatest(streamId, latest.branchNum(), latest.id());
+    }
+    return responses;
+  }
+
+  /**
+   * 지정한 PointEntity 아래에 이어 붙일 브랜치를 결정한다.
+   * 이어지는 브랜치가 없다면 기존 브랜치를, 있다면 신규 브랜치를 생성하여 반환한다.
+   * LAZY 컬렉션은 건드리지 않는다.
+   *
+   * @param point 기준 PointEntity
+   * @return 새 PointEntity가 속할 브랜치
+   */
+  private BranchEntity resolveBranch(PointEntity point) {
+    Long streamId = point.getBranch().getId().getStreamId();
+    return resolveBranch(point, () -> reserveBranchNums(streamId, 1));
+  }
+
+  /**
+   * 지정한 PointEntity 아래에 이어 붙일 브랜치를 결정한다.
+   *
+   * @param point         기준 PointEntity
+   * @param nextBranchNum 신규 브랜치가 필요할 때 사용할 예약된 브랜치 번호
+   * @return 새 PointEntity가 속할 브랜치
+   */
+  private BranchEntity resolveBranch(PointEntity point, IntSupplier nextBranchNum) {
+    BranchEntity parentBranch = point.getBranch();
+    if (point.getChildBranchNums().length == 0) {
+      return parentBranch;
+    }
+
+    Long streamId = parentBranch.getId().getStreamId();
+    String newPath = PathUtils.append(parentBranch.getPath(), parentBranch.getBranchNum());
+    BranchEntity newBranch = branchRepository.save(
+        BranchEntity.builder()
+            .id(new BranchId(streamId, nextBranchNum.getAsInt()))
+            .stream(streamRepository.getReferenceById(streamId))
+            .path(newPath)
+            .forkDepth(point.getDepth())
+            .build());
+    branchPathService.cacheForkedPath(parentBranch, newBranch);
+    return newBranch;
+  }
+
+  /**
+   * 스트림의 next_branch_num을 DB에서 원자적으로 count만큼 증가시키고, 증가 전 값부터 count개를 새 브랜치 번호로 예약한다.
+   * <p>
+   * UPDATE로 잡은 스트림 행 잠금이 커밋까지 유지되므로 동시 분기 간에 번호가 중복되지 않고,
+   * 롤백 시 증가분도 함께 되돌아가 번호에 공백이 생기지 않는다.
+   * </p>
+   *
+   * @param streamId 스트림 ID
+   * @param count    예약할 브랜치 번호 개수
+   * @return 예약된 첫 브랜치 번호
+   */
+  private int reserveBranchNums(Long streamId, int count) {
+    streamRepository.incrementNextBranchNum(streamId, count);
+    return streamRepository.findNextBranchNumById(streamId)
+        .orElseThrow(() -> new NoSuchElementException("Stream not found")) - count;
+  }
+
+  /**
+   * 스트림의 최신 브랜치/포인트를 갱신한다.
+   * 스트림이 삭제 표시되었으면 예외를 던져 이번 추가를 롤백한다 (삭제 정리와 동시에 추가된 포인트가 남지 않도록).
+   * 새 포인트의 ID는 save 시점에 미리 할당받은 범위에서 정해지므로, INSERT가 flush되기 전에 호출하여
+   * 스트림 행 잠금을 INSERT의 FK 공유 잠금보다 먼저 잡는다 ({@link StreamRepository#updateLatest} 참조).
+   */
+  private void updateLatest(Long streamId, int branchNum, Long pointId) {
+    if (streamRepository.updateLatest(streamId, branchNum, pointId) == 0) {
+      throw new NoSuchElementException("Stream not found");
+    }
   }
 
   /**
@@ -78,20 +255,203 @@ public class PointService {
    * @return 자신 포함 조상 Point 목록 (depth 오름차순, 루트 제외)
    */
   public List<PointDto.Response> getAncestors(Long id) {
-    PointEntity point = pointRepository.findById(id)
+    List<PointDto.Response> cached = ancestorCache.get(id);
+    if (cached != null) {
+      return cached;
+    }
+
+    // 버전은 DB를 읽기 전에 받아야 읽는 동안 커밋된 pointDown을 알아챌 수 있다
+    long version = ancestorCache.version();
+    PointEntity point = pointRepository.findLiveById(id)
         .orElseThrow(() -> new NoSuchElementException("Point not found"));
+    List<PointDto.Response> ancestors = getAncestors(point, properties.pathQuery().mode());
+    ancestorCache.put(point.getBranch().getId().getStreamId(), version, ancestors);
+    return ancestors;
+  }
+
+  /**
+   * 여러 Point의 조상 목록을 한 번에 조회합니다.
+   * 캐시에 없는 Point들은 한 번에 읽고, 스트림마다 경로들의 브랜치별 depth 구간을 합쳐
+   * 공통 조상은 한 번만 읽도록 구간 조회 한 번으로 처리합니다 (설정된 경로 조회 방식과 무관하게 구간 조회 사용).
+   *
+   * @param ids 기준 Point ID 목록 (1 ~ {@value StreamConstants#MAX_ANCESTORS_BATCH_SIZE}개, 중복 가능)
+   * @return 요청 순서의 조상 목록
+   * @throws NoSuchElementException 없는 Point가 하나라도 있는 경우
+   */
+  public List<PointDto.Ancestors> getAncestorsBatch(List<Long> ids) {
+    if (ids == null || ids.isEmpty() || ids.size() > StreamConstants.MAX_ANCESTORS_BATCH_SIZE) {
+      throw new IllegalArgumentException(
+          "ids must contain between 1 and " + StreamConstants.MAX_ANCESTORS_BATCH_SIZE + " point ids");
+    }
+
+    Map<Long, List<PointDto.Response>> chains = new HashMap<>();
+    Set<Long> missing = new HashSet<>();
+    for (Long id : ids) {
+      List<PointDto.Response> cached = ancestorCache.get(id);
+      if (cached != null) {
+        chains.put(id, cached);
+      } else {
+        missing.add(id);
+      }
+    }
+
+    if (!missing.isEmpty()) {
+      long version = ancestorCache.version();
+      List<PointEntity> points = pointRepository.findAllLiveByIdIn(missing);
+      if (points.size() != missing.size()) {
+        throw new NoSuchElementException("Point not found");
+      }
+      Map<Long, List<PointEntity>> pointsByStream = new HashMap<>();
+      for (PointEntity point : points) {
+        pointsByStream.computeIfAbsent(point.getBranch().getId().getStreamId(), key -> new ArrayList<>()).add(point);
+      }
+      pointsByStream.forEach((streamId, streamPoints) -> {
+        getAncestorsInStream(streamId, streamPoints).forEach((id, ancestors) -> {
+          chains.put(id, ancestors);
+          ancestorCache.put(streamId, version, ancestors);
+        });
+      });
+    }
+
+    return ids.stream().map(id -> new PointDto.Ancestors(id, chains.get(id))).toList();
+  }
+
+  /**
+   * 같은 스트림의 여러 Point의 조상 목록을 구간 조회 한 번으로 읽습니다.
+   * 브랜치의 Point는 분기 depth 다음부터 빈틈없이 이어지므로, 경로들이 같은 브랜치에서 읽는 구간은 시작이 같고
+   * 가장 긴 구간 하나로 합칠 수 있습니다.
+   */
+  private Map<Long, List<PointDto.Response>> getAncestorsInStream(Long streamId, List<PointEntity> points) {
+    Map<Long, List<DepthRange>> rangesById = new HashMap<>();
+    Map<Integer, DepthRange> merged = new HashMap<>();
+    for (PointEntity point : points) {
+      BranchPath path = branchPathService.getPath(point.getBranch());
+      List<DepthRange> ranges = path.ranges(StreamConstants.ROOT_POINT_DEPTH, point.getDepth());
+      rangesById.put(point.getId(), ranges);
+      for (DepthRange range : ranges) {
+        merged.merge(range.branchNum(), range,
+            (a, b) -> new DepthRange(a.branchNum(), Math.min(a.afterDepth(), b.afterDepth()),
+                Math.max(a.untilDepth(), b.untilDepth())));
+      }
+    }
+
+    List<PointDto.Response> rows = pointRepository.findResponsesInRanges(streamId, List.copyOf(merged.values()));
+    Map<Integer, List<PointDto.Response>> rowsByBranch = new HashMap<>();
+    for (PointDto.Response row : rows) {
+      rowsByBranch.computeIfAbsent(row.branchNum(), key -> new ArrayList<>()).add(row);
+    }
+
+    Map<Long, List<PointDto.Response>> chains = new HashMap<>();
+    int returned = 0;
+    for (PointEntity point : points) {
+      List<PointDto.Response> chain = new ArrayList<>(point.getDepth());
+      for (DepthRange range : rangesById.get(point.getId())) {
+        // 합친 구간의 행은 depth 오름차순으로 빈틈없이 이어진다
+        int offset = range.afterDepth() - merged.get(range.branchNum()).afterDepth();
+        List<PointDto.Response> branchRows = rowsByBranch.getOrDefault(range.branchNum(), List.of());
+        chain.addAll(branchRows.subList(offset,
+            Math.min(branchRows.size(), offset + range.untilDepth() - range.afterDepth())));
+      }
+      chains.put(point.getId(), chain);
+      returned += chain.size();
+    }
+
+    // 공통 조상은 한 번만 읽으므로 반환한 행 수가 읽은 행 수보다 많을 수 있다
+    pathQueryMetrics.recordRows("getAncestorsBatch", PathQueryMode.RANGE, rows.size(), returned);
+    return chains;
+  }
+
+  /**
+   * 특정 Point 아래의 하위 Point들을 조회합니다 (자신 제외).
+   * 같은 브랜치의 이후 Point와, 이 Point 이후에서 분기한 브랜치 및 그 하위 브랜치의 모든 Point가 대상입니다.
+   * 하위 브랜치는 재귀 조회 없이 branches.path 접두사 조회 한 번으로 구합니다.
+   *
+   * @param id       기준 Point의 ID
+   * @param maxDepth 이 depth 이하만 조회, null이면 제한 없음
+   * @param limit    최대 개수 (1 ~ {@value StreamConstants#MAX_PAGE_LIMIT})
+   * @return 하위 Point 목록 (depth, branchNum 오름차순으로 가까운 Point부터)
+   */
+  public List<PointDto.Response> getDescendants(Long id, Integer maxDepth, int limit) {
+    if (limit < 1 || limit > StreamConstants.MAX_PAGE_LIMIT) {
+      throw new IllegalArgumentException("limit must be between 1 and " + StreamConstants.MAX_PAGE_LIMIT);
+    }
+    Descendants descendants = findDescendants(id, maxDepth);
+    return pointRepository.findResponsesBelow(
+        descendants.streamId(), descendants.range(), descendants.branchNums(), limit);
+  }
 
+  /**
+   * {@link #getDescendants}가 조회할 하위 Point 수를 셉니다 (limit 없음).
+   *
+   * @param id       기준 Point의 ID
+   * @param maxDepth 이 depth 이하만 셈, null이면 제한 없음
+   * @return 하위 Point 수
+   */
+  public long countDescendants(Long id, Integer maxDepth) {
+    Descendants descendants = findDescendants(id, maxDepth);
+    return pointRepository.countBelow(descendants.streamId(), descendants.range(), descendants.branchNums());
+  }
+
+  /**
+   * 하위 Point의 조회 범위: 기준 Point 브랜치의 이후 구간과, 모든 Point가 하위인 브랜치 목록
+   *
+   * <p>기준 브랜치 경로로 시작하는 브랜치 중, 기준 브랜치에서 바로 분기한 브랜치(경로가 같은 브랜치)는
+   * 기준 Point의 depth 이후에서 분기했을 때만 하위이고, 더 깊은 브랜치는 경로상 그 브랜치가 하위일 때만 하위입니다.</p>
+   */
+  private Descendants findDescendants(Long id, Integer maxDepth) {
+    PointEntity point = pointRepository.findLiveById(id)
+        .orElseThrow(() -> new NoSuchElementException("Point not found"));
     BranchEntity branch = point.getBranch();
-    Long streamId = branch.getStream().getId();
+    Long streamId = branch.getId().getStreamId();
+    int[] prefix = branchPathService.getPath(branch).branchNums();
+
+    List<BranchEntity> candidates = branchRepository.findAllByPathPrefix(streamId, prefix);
+    List<int[]> paths = candidates.stream().map(candidate -> PathUtils.parse(candidate.getPath())).toList();
+    Set<Integer> forkedBelow = new HashSet<>();
+    for (int i = 0; i < candidates.size(); i++) {
+      if (paths.get(i).length == prefix.length && candidates.get(i).getForkDepth() >= point.getDepth()) {
+        forkedBelow.add(candidates.get(i).getBranchNum());
+      }
+    }
+    List<Integer> branchNums = new ArrayList<>();
+    for (int i = 0; i < candidates.size(); i++) {
+      int[] path = paths.get(i);
+      int directChild = path.length == prefix.length ? candidates.get(i).getBranchNum() : path[prefix.length];
+      if (forkedBelow.contains(directChild)) {
+        branchNums.add(candidates.get(i).getBranchNum());
+      }
+    }
+
+    int untilDepth = maxDepth != null ? maxDepth : Integer.MAX_VALUE;
+    return new Descendants(streamId, new DepthRange(branch.getBranchNum(), point.getDepth(), untilDepth), branchNums);
+  }
 
-    // branch의 path를 파싱하여 경로에 포함된 branchNum 목록 생성
-    int[] branchNums = PathUtils.append(
-        PathUtils.parse(branch.getPath()),
-        branch.getBranchNum());
+  /** 하위 Point 조회 범위 ({@link #findDescendants} 참조) */
+  private record Descendants(Long streamId, DepthRange range, List<Integer> branchNums) {
+  }
+
+  /** 설정, 캐시와 무관하게 지정한 방식으로 조상 Point들을 조회 (방식 간 비교 테스트용으로 패키지 공개) */
+  List<PointDto.Response> getAncestors(Long id, PathQueryMode mode) {
+    PointEntity point = pointRepository.findLiveById(id)
+        .orElseThrow(() -> new NoSuchElementException("Point not found"));
+    return getAncestors(point, mode);
+  }
+
+  private List<PointDto.Response> getAncestors(PointEntity point, PathQueryMode mode) {
+    BranchEntity branch = point.getBranch();
+    Long streamId = branch.getId().getStreamId();
+    BranchPath path = branchPathService.getPath(branch);
 
-    List<PointEntity> ancestors = pointRepository.findAncestorsUsingPath(
-        streamId, Arrays.stream(branchNums).boxed().toList(), point.getDepth());
+    List<PointDto.Response> ancestors = mode == PathQueryMode.RANGE
+        ? pointRepository.findResponsesInRanges(
+            streamId, path.ranges(StreamConstants.ROOT_POINT_DEPTH, point.getDepth()))
+        : pointRepository.findAncestorsUsingPath(streamId, path.branchNumList(), point.getDepth()).stream()
+            .map(PointEntity::toResponse)
+            .toList();
 
-    return ancestors.stream().map(PointEntity::toResponse).toList();
+    // 조상 조회는 DB에서 경로상의 포인트만 읽으므로 읽은 행 수와 반환한 행 수가 같다
+    pathQueryMetrics.recordRows("getAncestors", mode, ancestors.size(), ancestors.size());
+    pathQueryMetrics.recordPath("getAncestors", path, ancestors);
+    return ancestors;
   }
 }
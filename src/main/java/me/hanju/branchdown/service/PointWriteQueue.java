@@ -0,0 +1,204 @@
+package me.hanju.branchdown.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import me.hanju.branchdown.config.BranchdownProperties;
+import me.hanju.branchdown.dto.PointDto;
+import me.hanju.branchdown.repository.PointRepository;
+
+/**
+ * 스트림별 단일 작성자 쓰기 큐
+ *
+ * <p>활성화하면 같은 스트림에 대한 pointDown 요청을 스트림별 큐에 모으고, 스트림마다 하나의 가상 스레드가
+ * 쌓인 요청을 최대 {@code maxBatchSize}개씩 {@link PointService#pointDownAll} 한 트랜잭션으로 처리합니다.
+ * 기준 포인트 잠금, 브랜치 번호 예약, 커밋이 요청마다가 아닌 묶음마다 한 번씩 일어나고 INSERT는 JDBC 배치로 묶입니다.
+ * 호출 스레드는 자신의 요청이 커밋될 때까지 기다립니다.</p>
+ *
+ * <p>큐는 인스턴스 안에서만 동작하며, 다른 인스턴스나 pointDownBatch와의 동시성은 기존과 같이 DB 잠금으로 보장됩니다.
+ * 묶음 처리가 실패하면 롤백 후 요청을 하나씩 {@link PointService#pointDown}으로 다시 처리하여
+ * 실패가 다른 요청으로 번지지 않게 합니다. 묶음 크기는 {@code branchdown.write.batch.size} 메트릭으로 노출됩니다.</p>
+ *
+ * <p>호출 스레드는 최대 {@code timeout}만큼 기다리며, 그때까지 처리되지 않은 요청은 큐에서 처리되지 않습니다
+ * (이미 묶음에 포함되어 처리 중이던 요청은 커밋될 수 있음). 작성자가 예상하지 못한 오류로 멈추거나 종료 중이라
+ * 시작되지 못하면 남은 요청을 모두 실패로 완료하고 스트림의 큐를 제거하여, 이후 요청은 새 작성자가 처리합니다.</p>
+ */
+@Slf4j
+@Component
+public class PointWriteQueue {
+
+  private final PointService pointService;
+  private final PointRepository pointRepository;
+  private final boolean enabled;
+  private final int maxBatchSize;
+  private final Duration timeout;
+  private final DistributionSummary batchSizes;
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+  /** 처리 대기 중인 요청이 있는 스트림의 큐 (큐가 있는 동안 해당 스트림의 작성자가 실행 중) */
+  private final ConcurrentHashMap<Long, Queue<Append>> queues = new ConcurrentHashMap<>();
+
+  public PointWriteQueue(PointService pointService, PointRepository pointRepository,
+      BranchdownProperties properties, MeterRegistry meterRegistry) {
+    this.pointService = pointService;
+    this.pointRepository = pointRepository;
+    this.enabled = properties.writeQueue().enabled();
+    this.maxBatchSize = properties.writeQueue().maxBatchSize();
+    this.timeout = properties.writeQueue().timeout();
+    this.batchSizes = DistributionSummary.builder("branchdown.write.batch.size")
+        .description("한 트랜잭션으로 처리한 pointDown 요청 수")
+        .register(meterRegistry);
+  }
+
+  /**
+   * 지정한 포인트 아래에 새 포인트를 추가합니다. 비활성화 상태면 {@link PointService#pointDown}을 바로 호출합니다.
+   *
+   * @param id     기준 포인트 ID
+   * @param itemId 새 포인트의 item ID
+   * @return 추가된 포인트 (커밋 완료 후 반환)
+   * @throws IllegalStateException {@code timeout} 안에 처리되지 않았거나 작성자가 멈춘 경우
+   */
+  public PointDto.Response pointDown(Long id, String itemId) {
+    if (!enabled) {
+      return pointService.pointDown(id, itemId);
+    }
+    Long streamId = pointRepository.findStreamIdById(id)
+        .orElseThrow(() -> new NoSuchElementException("Point not found"));
+
+    Append append = new Append(id, itemId, new CompletableFuture<>());
+    enqueue(streamId, append);
+    try {
+      return append.result().get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException("Queued pointDown failed", e.getCause());
+    } catch (TimeoutException e) {
+      // 아직 큐에 있으면 작성자가 건너뛴다
+      append.result().completeExceptionally(e);
+      throw new IllegalStateException("Timed out waiting for queued pointDown after " + timeout);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      append.result().completeExceptionally(e);
+      throw new IllegalStateException("Interrupted while waiting for queued pointDown");
+    }
+  }
+
+  /** 스트림의 큐에 요청을 넣고, 실행 중인 작성자가 없으면 새로 시작합니다. */
+  private void enqueue(Long streamId, Append append) {
+    boolean[] started = { false };
+    queues.compute(streamId, (id, queue) -> {
+      if (queue == null) {
+        queue = new ConcurrentLinkedQueue<>();
+        started[0] = true;
+      }
+      queue.add(append);
+      return queue;
+    });
+    if (started[0]) {
+      try {
+        executor.execute(() -> drain(streamId));
+      } catch (RuntimeException e) {
+        // 종료 중이라 작성자를 시작하지 못함 (RejectedExecutionException)
+        abandon(streamId, List.of(), e);
+        throw e;
+      }
+    }
+  }
+
+  /** 큐가 빌 때까지 요청을 묶어 처리하고, 비면 큐를 제거합니다 (제거는 enqueue와 같은 키 잠금 안에서 일어남). */
+  private void drain(Long streamId) {
+    Queue<Append> queue = queues.get(streamId);
+    List<Append> batch = List.of();
+    try {
+      do {
+        batch = new ArrayList<>();
+        for (Append append; batch.size() < maxBatchSize && (append = queue.poll()) != null;) {
+          // 기다리다 시간이 초과된 요청은 건너뛴다
+          if (!append.result().isDone()) {
+            batch.add(append);
+          }
+        }
+        if (!batch.isEmpty()) {
+          write(streamId, batch);
+        }
+      } while (queues.computeIfPresent(streamId, (id, q) -> q.isEmpty() ? null : q) != null);
+    } catch (Throwable e) {
+      log.error("Write queue writer for stream {} stopped, failing pending appends", streamId, e);
+      abandon(streamId, batch, e);
+      throw e;
+    }
+  }
+
+  /**
+   * 스트림의 큐를 제거한 뒤 처리 중이던 요청과 큐에 남은 요청을 모두 실패로 완료합니다.
+   * 제거는 enqueue와 같은 키 잠금 안에서 먼저 일어나므로, 실패를 받은 호출자가 다시 요청하면 새 작성자가 처리합니다.
+   */
+  private void abandon(Long streamId, List<Append> polled, Throwable cause) {
+    List<Append> failed = new ArrayList<>(polled);
+    queues.computeIfPresent(streamId, (id, queue) -> {
+      failed.addAll(queue);
+      return null;
+    });
+    failed.forEach(append -> append.result().completeExceptionally(cause));
+  }
+
+  private void write(Long streamId, List<Append> batch) {
+    batchSizes.record(batch.size());
+    if (batch.size() > 1) {
+      try {
+        List<PointDto.Response> responses = pointService.pointDownAll(streamId,
+            batch.stream().map(Append::pointId).toList(), batch.stream().map(Append::itemId).toList());
+        for (int i = 0; i < batch.size(); i++) {
+          if (responses.get(i) == null) {
+            batch.get(i).result().completeExceptionally(new NoSuchElementException("Point not found"));
+          } else {
+            batch.get(i).result().complete(responses.get(i));
+          }
+        }
+        return;
+      } catch (RuntimeException e) {
+        log.warn("Batched pointDown of {} appends failed for stream {}, retrying one by one", batch.size(), streamId, e);
+      }
+    }
+    for (Append append : batch) {
+      try {
+        append.result().complete(pointService.pointDown(append.pointId(), append.itemId()));
+      } catch (RuntimeException e) {
+        append.result().completeExceptionally(e);
+      }
+    }
+  }
+
+  /** 처리 대기 중인 요청 수 (테스트용으로 패키지 공개) */
+  int pendingCount(Long streamId) {
+    Queue<Append> queue = queues.get(streamId);
+    return queue == null ? 0 : queue.size();
+  }
+
+  @PreDestroy
+  void shutdown() {
+    // 대기 중인 요청을 모두 처리한 뒤 종료
+    executor.close();
+  }
+
+  private record Append(Long pointId, String itemId, CompletableFuture<PointDto.Response> result) {
+  }
+}
@@ -0,0 +1,134 @@
+package me.hanju.branchdown.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import me.hanju.branchdown.config.BranchdownProperties;
+import me.hanju.branchdown.constant.StreamConstants;
+import me.hanju.branchdown.dto.StreamDto;
+
+/**
+ * 미리 만들어 둔 빈 스트림 풀
+ *
+ * <p>활성화하면 백그라운드 스레드가 빈 스트림(스트림, 기본 브랜치, 루트 포인트)을 {@code size}개까지
+ * {@link StreamService#createStreams} 한 번으로 만들어 두고, 스트림 생성 요청은 DB 접근 없이 풀에서 하나를 꺼내 반환합니다.
+ * 풀이 절반 이하로 줄면 다시 채우며, 풀이 비어 있으면 {@link StreamService#createStream}으로 바로 만듭니다.</p>
+ *
+ * <p>풀의 스트림은 이미 커밋되어 있으므로 응답의 createdAt은 요청 시각이 아니라 풀을 채운 시각입니다.
+ * 정상 종료 시 남은 스트림은 삭제 표시하여 {@link StreamPurger}가 정리하지만, 비정상 종료 시에는 빈 스트림으로 남습니다.
+ * 풀은 인스턴스마다 따로 유지되므로 같은 스트림이 두 번 반환되지 않습니다.
+ * 남은 수와 풀이 비어 있던 요청 수는 {@code branchdown.stream.pool.available},
+ * {@code branchdown.stream.pool.misses} 메트릭으로 노출됩니다.</p>
+ */
+@Slf4j
+@Component
+public class StreamPool {
+
+  private final StreamService streamService;
+  private final StreamPurger streamPurger;
+  private final boolean enabled;
+  private final int size;
+  private final Counter misses;
+  private final Queue<StreamDto.Response> streams = new ConcurrentLinkedQueue<>();
+  /** 풀에 남은 스트림 수 (ConcurrentLinkedQueue.size()는 O(n)이므로 따로 센다) */
+  private final AtomicInteger available = new AtomicInteger();
+  private final AtomicBoolean refilling = new AtomicBoolean();
+  private final ExecutorService executor = Executors.newSingleThreadExecutor(
+      Thread.ofPlatform().name("stream-pool").daemon().factory());
+
+  public StreamPool(StreamService streamService, StreamPurger streamPurger, BranchdownProperties properties,
+      MeterRegistry meterRegistry) {
+    this.streamService = streamService;
+    this.streamPurger = streamPurger;
+    this.enabled = properties.streamPool().enabled();
+    this.size = properties.streamPool().size();
+    this.misses = Counter.builder("branchdown.stream.pool.misses")
+        .description("풀이 비어 있어 바로 만든 스트림 수")
+        .register(meterRegistry);
+    Gauge.builder("branchdown.stream.pool.available", available, AtomicInteger::get)
+        .description("풀에 남은 빈 스트림 수")
+        .register(meterRegistry);
+  }
+
+  @PostConstruct
+  void start() {
+    if (enabled) {
+      refillIfLow();
+    }
+  }
+
+  /**
+   * 빈 스트림을 반환합니다. 비활성화 상태이거나 풀이 비어 있으면 {@link StreamService#createStream}을 바로 호출합니다.
+   *
+   * @return 생성된 스트림
+   */
+  public StreamDto.Response createStream() {
+    if (!enabled) {
+      return streamService.createStream();
+    }
+    StreamDto.Response stream = streams.poll();
+    if (stream == null) {
+      misses.increment();
+      refillIfLow();
+      return streamService.createStream();
+    }
+    available.decrementAndGet();
+    refillIfLow();
+    return stream;
+  }
+
+  private void refillIfLow() {
+    if (available.get() <= size / 2 && refilling.compareAndSet(false, true)) {
+      executor.execute(this::refill);
+    }
+  }
+
+  /** 풀을 size개까지 채웁니다. 실패하면 다음 요청에서 다시 시도합니다. */
+  void refill() {
+    try {
+      for (int missing; (missing = size - available.get()) > 0;) {
+        List<StreamDto.Response> created = streamService.createStreams(
+            Math.min(missing, StreamConstants.MAX_CREATE_COUNT));
+        streams.addAll(created);
+        available.addAndGet(created.size());
+      }
+    } catch (RuntimeException e) {
+      log.warn("Failed to refill stream pool", e);
+    } finally {
+      refilling.set(false);
+    }
+  }
+
+  @PreDestroy
+  void shutdown() throws InterruptedException {
+    executor.shutdown();
+    if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+      executor.shutdownNow();
+    }
+    List<Long> unused = new ArrayList<>();
+    for (StreamDto.Response stream; (stream = streams.poll()) != null;) {
+      unused.add(stream.id());
+    }
+    available.set(0);
+    try {
+      streamPurger.deleteLater(unused);
+    } catch (RuntimeException e) {
+      log.warn("Failed to delete {} unused pooled streams", unused.size(), e);
+    }
+  }
+}
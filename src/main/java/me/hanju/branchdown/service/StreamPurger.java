@@ -0,0 +1,171 @@
+package me.hanju.branchdown.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import me.hanju.branchdown.config.BranchdownProperties;
+import me.hanju.branchdown.repository.BranchRepository;
+import me.hanju.branchdown.repository.PointRepository;
+import me.hanju.branchdown.repository.StreamRepository;
+import me.hanju.branchdown.util.TransactionCallbacks;
+
+/**
+ * 스트림 삭제
+ *
+ * <p>스트림을 먼저 삭제 표시(deleted_at)하여 이후 조회가 404가 되고 새 포인트 추가가 실패하게 한 뒤,
+ * 포인트를 {@code chunkSize}개씩 별도 트랜잭션의 일괄 DELETE로 지우고 마지막에 브랜치와 스트림 행을 지웁니다.
+ * 엔티티를 로딩하지 않으므로 스트림 크기와 무관하게 트랜잭션 길이와 메모리 사용량이 묶음 크기로 제한됩니다.</p>
+ *
+ * <p>비동기 모드에서는 삭제 표시가 커밋되면 바로 반환하고 정리는 백그라운드 스레드 하나가 순서대로 처리합니다.
+ * 정리 도중 재시작이나 장애로 남은 삭제 표시 스트림은 {@code sweepInterval}마다 다시 찾아 정리합니다
+ * (방금 삭제 표시되어 다른 곳에서 정리 중일 수 있는 스트림은 한 주기가 지난 뒤 대상이 됨).
+ * 정리 시간은 {@code branchdown.stream.purge} 타이머로 기록됩니다.</p>
+ */
+@Slf4j
+@Component
+public class StreamPurger {
+
+  private final StreamRepository streamRepository;
+  private final BranchRepository branchRepository;
+  private final PointRepository pointRepository;
+  private final BranchPathCache branchPathCache;
+  private final AncestorCache ancestorCache;
+  private final TransactionTemplate transactionTemplate;
+  private final boolean async;
+  private final int chunkSize;
+  private final Duration sweepInterval;
+  private final Timer purgeTimer;
+  private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+      Thread.ofPlatform().name("stream-purger").daemon().factory());
+
+  public StreamPurger(StreamRepository streamRepository, BranchRepository branchRepository,
+      PointRepository pointRepository, BranchPathCache branchPathCache, AncestorCache ancestorCache,
+      PlatformTransactionManager transactionManager, BranchdownProperties properties, MeterRegistry meterRegistry) {
+    this.streamRepository = streamRepository;
+    this.branchRepository = branchRepository;
+    this.pointRepository = pointRepository;
+    this.branchPathCache = branchPathCache;
+    this.ancestorCache = ancestorCache;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.async = properties.deletion().async();
+    this.chunkSize = properties.deletion().chunkSize();
+    this.sweepInterval = properties.deletion().sweepInterval();
+    this.purgeTimer = Timer.builder("branchdown.stream.purge")
+        .description("삭제 표시된 스트림의 포인트, 브랜치, 스트림 행을 지우는 데 걸린 시간")
+        .register(meterRegistry);
+  }
+
+  @PostConstruct
+  void start() {
+    long interval = sweepInterval.toMillis();
+    executor.scheduleWithFixedDelay(this::sweep, interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * 스트림을 삭제 표시하고 정리합니다. 비동기 모드에서는 삭제 표시가 커밋된 뒤 정리를 백그라운드에 맡기고 바로 반환합니다.
+   *
+   * @param streamId 스트림 ID
+   * @throws NoSuchElementException 스트림이 없거나 이미 삭제 표시된 경우
+   */
+  public void delete(Long streamId) {
+    transactionTemplate.executeWithoutResult(status -> {
+      if (streamRepository.markDeleted(streamId, Instant.now()) == 0) {
+        throw new NoSuchElementException("Stream not found");
+      }
+      evictAfterCommit(streamId);
+    });
+    if (async) {
+      TransactionCallbacks.afterCommit(() -> executor.execute(() -> purgeQuietly(streamId)));
+    } else {
+      purge(streamId);
+    }
+  }
+
+  /**
+   * 여러 스트림을 한 트랜잭션으로 삭제 표시만 하고, 정리는 {@link #sweep}에 맡깁니다.
+   *
+   * @param streamIds 스트림 ID 목록
+   */
+  public void deleteLater(Collection<Long> streamIds) {
+    if (streamIds.isEmpty()) {
+      return;
+    }
+    transactionTemplate.executeWithoutResult(status -> {
+      streamRepository.markAllDeleted(streamIds, Instant.now());
+      streamIds.forEach(this::evictAfterCommit);
+    });
+  }
+
+  /**
+   * 삭제 표시된 스트림의 포인트를 묶음 단위로 지운 뒤 브랜치와 스트림 행을 지웁니다.
+   *
+   * @param streamId 삭제 표시된 스트림 ID
+   */
+  void purge(Long streamId) {
+    purgeTimer.record(() -> {
+      long points = 0;
+      for (int deleted; (deleted = deletePointChunk(streamId)) > 0;) {
+        points += deleted;
+      }
+      int branches = transactionTemplate.execute(status -> {
+        int deleted = branchRepository.deleteAllByStreamId(streamId);
+        streamRepository.deleteMarked(streamId);
+        evictAfterCommit(streamId);
+        return deleted;
+      });
+      log.debug("Purged stream {}: {} points, {} branches", streamId, points, branches);
+    });
+  }
+
+  /** 정리되지 않고 남은 삭제 표시 스트림을 정리합니다. */
+  void sweep() {
+    try {
+      List<Long> streamIds = streamRepository.findDeletedIdsBefore(Instant.now().minus(sweepInterval));
+      streamIds.forEach(this::purgeQuietly);
+    } catch (RuntimeException e) {
+      log.warn("Failed to find deleted streams to purge", e);
+    }
+  }
+
+  private int deletePointChunk(Long streamId) {
+    return transactionTemplate.execute(status -> {
+      List<Long> ids = pointRepository.findIdsByStreamId(streamId, Limit.of(chunkSize));
+      return ids.isEmpty() ? 0 : pointRepository.deleteAllByIdIn(ids);
+    });
+  }
+
+  private void purgeQuietly(Long streamId) {
+    try {
+      purge(streamId);
+    } catch (RuntimeException e) {
+      log.warn("Failed to purge stream {}, will retry on next sweep", streamId, e);
+    }
+  }
+
+  private void evictAfterCommit(Long streamId) {
+    branchPathCache.evictStreamAfterCommit(streamId);
+    ancestorCache.evictStreamAfterCommit(streamId);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    // 진행 중인 묶음은 롤백되고, 남은 삭제 표시 스트림은 다음 기동 후 sweep에서 정리됨
+    executor.shutdownNow();
+  }
+}
@@ -1,15 +1,24 @@
 package me.hanju.branchdown.service;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import me.hanju.branchdown.config.BranchdownProperties;
+import me.hanju.branchdown.config.BranchdownProperties.PathQueryMode;
 import me.hanju.branchdown.constant.StreamConstants;
 import me.hanju.branchdown.dto.PointDto;
 import me.hanju.branchdown.dto.StreamDto;
@@ -26,36 +35,71 @@ import me.hanju.branchdown.util.PathUtils;
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
+@Timed("branchdown.service")
 public class StreamService {
 
   private final StreamRepository streamRepository;
   private final BranchRepository branchRepository;
   private final PointRepository pointRepository;
+  private final BranchPathService branchPathService;
+  private final PathQueryMetrics pathQueryMetrics;
+  private final StreamPurger streamPurger;
+  private final BranchdownProperties properties;
 
   @Transactional
   public StreamDto.Response createStream() {
+    return insertStreams(1).getFirst();
+  }
+
+  /**
+   * 빈 스트림을 count개 만듭니다. 스트림, 기본 브랜치, 루트 포인트를 종류별로 모아 저장하므로
+   * 개수와 무관하게 INSERT가 JDBC 배치로 묶입니다.
+   *
+   * @param count 만들 스트림 수 (1 ~ {@value StreamConstants#MAX_CREATE_COUNT})
+   */
+  @Transactional
+  public List<StreamDto.Response> createStreams(int count) {
+    if (count < 1 || count > StreamConstants.MAX_CREATE_COUNT) {
+      throw new IllegalArgumentException("count must be between 1 and " + StreamConstants.MAX_CREATE_COUNT);
+    }
+    return insertStreams(count);
+  }
+
+  private List<StreamDto.Response> insertStreams(int count) {
     // 1. 스트림 생성
-    StreamEntity newStream = streamRepository.save(StreamEntity.builder().build());
+    List<StreamEntity> streams = streamRepository.saveAll(IntStream.range(0, count)
+        .mapToObj(i -> StreamEntity.builder()
+            .nextBranchNum(StreamConstants.INITIAL_BRANCH_NUM + 1)
+            .latestBranchNum(StreamConstants.INITIAL_BRANCH_NUM)
+            .build())
+        .toList());
 
     // 2. 스트림의 기본 브랜치 생성
-    BranchEntity initialBranch = branchRepository.save(BranchEntity.builder()
-        .id(new BranchId(newStream.getId(), newStream.getNextBranchNum()))
-        .stream(newStream)
-        .path("")
-        .build());
-    newStream.addBranch(initialBranch);
+    List<BranchEntity> initialBranches = branchRepository.saveAll(streams.stream()
+        .map(stream -> BranchEntity.builder()
+            .id(new BranchId(stream.getId(), StreamConstants.INITIAL_BRANCH_NUM))
+            .stream(stream)
+            .path("")
+            .forkDepth(StreamConstants.INITIAL_BRANCH_FORK_DEPTH)
+            .build())
+        .toList());
 
     // 3. 스트림의 루트 포인트 생성(제일 첫 메시지도 브랜칭이 생길 수 있기 때문에 가상의 첫 포인트가 있어야 한다.)
-    PointEntity rootPoint = PointEntity.builder()
-        .branch(initialBranch)
-        .depth(StreamConstants.ROOT_POINT_DEPTH)
-        .itemId(null)
-        .build();
-    pointRepository.save(rootPoint);
+    List<PointEntity> rootPoints = pointRepository.saveAll(initialBranches.stream()
+        .map(branch -> PointEntity.builder()
+            .branch(branch)
+            .depth(StreamConstants.ROOT_POINT_DEPTH)
+            .itemId(null)
+            .build())
+        .toList());
 
-    initialBranch.addPoint(rootPoint);
+    // 새로 만든 엔티티이므로 컬렉션 로딩 없이 양방향 연관을 맞춘다
+    for (int i = 0; i < count; i++) {
+      streams.get(i).addBranch(initialBranches.get(i));
+      initialBranches.get(i).addPoint(rootPoints.get(i));
+    }
 
-    return newStream.toResponse();
+    return streams.stream().map(StreamEntity::toResponse).toList();
   }
 
   public StreamDto.Response getStream(Long id) {
@@ -65,52 +109,232 @@ public class StreamService {
     return stream.toResponse();
   }
 
-  @Transactional
+  /**
+   * 스트림을 삭제합니다 ({@link StreamPurger} 참조). 정리는 묶음마다 별도 트랜잭션으로 처리되므로
+   * 읽기 전용 트랜잭션을 열지 않고, 호출자의 트랜잭션이 있으면 그 안에서 처리합니다.
+   */
+  @Transactional(propagation = Propagation.SUPPORTS)
   public void deleteStream(Long id) {
-    StreamEntity stream = streamRepository.findById(id)
-        .orElseThrow(() -> new NoSuchElementException("Stream not found"));
-    streamRepository.delete(stream);
+    streamPurger.delete(id);
   }
 
   /**
    * 해당 스트림의 처음부터 가장 최근에 포인트를 추가한 브랜치까지의 스트림에 속하는 포인트 목록을 반환
    */
   public List<PointDto.Response> getStreamPoints(Long id) {
-    StreamEntity stream = streamRepository.findById(id)
-        .orElseThrow(() -> new NoSuchElementException("Stream not found"));
-    BranchEntity latestBranch = branchRepository
-        .findLatestBranchInChat(stream)
-        .orElseThrow(() -> new IllegalStateException("Latest Branch not found"));
+    return pathToPoints("getStreamPoints", id, getLatestPath(id), -1, Integer.MAX_VALUE);
+  }
 
-    // path를 int 배열로 변경 후 자기 자신 추가
-    int[] branchNums = PathUtils.append(
-        PathUtils.parse(latestBranch.getPath()),
-        latestBranch.getBranchNum());
-    List<PointEntity> messages = pathToPoints(stream.getId(), branchNums, -1);
+  /**
+   * {@link #getStreamPoints(Long)}의 커서 기반 버전으로, 커서가 가리키는 구간만 조회
+   */
+  public PointDto.Page getStreamPoints(Long id, PointDto.Cursor cursor) {
+    return pathToPage("getStreamPointsPage", id, getLatestPath(id), -1, cursor);
+  }
 
-    return messages.stream().map(PointEntity::toResponse).toList();
+  /**
+   * 스트림의 포인트를 한 건씩 action에 전달
+   *
+   * <p>JDBC 드라이버가 fetchSize 단위로 읽어 오는 결과를 엔티티 없이 바로 넘기므로, 스트림 크기와 무관하게
+   * 메모리 사용량이 일정합니다. 경로는 설정된 조회 방식과 무관하게 브랜치별 범위 조회로 읽습니다.</p>
+   *
+   * @param view   {@link StreamDto.ExportView#PATH}는 getStreamPoints와 같은 경로,
+   *               {@link StreamDto.ExportView#TREE}는 모든 포인트 (branchNum, depth 순)
+   * @param action 포인트마다 호출할 동작
+   */
+  public void exportPoints(Long id, StreamDto.ExportView view, Consumer<PointDto.Response> action) {
+    int fetchSize = properties.export().fetchSize();
+    try (Stream<PointDto.Response> points = switch (view) {
+      case PATH -> pointRepository.streamResponsesInRanges(
+          id, getLatestPath(id).ranges(-1, Integer.MAX_VALUE), fetchSize);
+      case TREE -> {
+        if (!streamRepository.existsById(id)) {
+          throw new NoSuchElementException("Stream not found");
+        }
+        yield pointRepository.streamResponses(id, fetchSize);
+      }
+    }) {
+      points.forEach(action);
+    }
+  }
+
+  /**
+   * 스트림의 브랜치와 포인트를 인접 리스트로 반환
+   *
+   * <p>포인트는 한 번의 인덱스 범위 스캔으로 (branchNum, depth) 순으로 읽고, 부모 포인트는 한 번의 순회로 연결합니다.
+   * 브랜치의 포인트는 forkDepth + 1부터 빠짐없이 이어지고 부모 브랜치의 branchNum이 항상 더 작으므로,
+   * 브랜치의 첫 포인트를 만날 때 분기한 포인트는 이미 읽혀 있습니다.</p>
+   *
+   * @param branchNum 이 브랜치와 하위 브랜치만 반환 ({@link StreamConstants#INITIAL_BRANCH_NUM}이면 전체)
+   * @param maxDepth  이 depth 이하의 포인트만 반환, null이면 제한 없음
+   */
+  public StreamDto.Tree getTree(Long id, int branchNum, Integer maxDepth) {
+    if (maxDepth != null && maxDepth < StreamConstants.ROOT_POINT_DEPTH) {
+      throw new IllegalArgumentException("maxDepth must not be negative");
+    }
+    if (!streamRepository.existsById(id)) {
+      throw new NoSuchElementException("Stream not found");
+    }
+    int untilDepth = maxDepth != null ? maxDepth : Integer.MAX_VALUE;
+
+    // 포인트를 먼저 읽어야 이후에 읽는 브랜치 목록에 포인트가 속한 브랜치가 모두 들어 있다
+    List<PointDto.Response> points = pointRepository.findResponsesFromBranch(id, branchNum, untilDepth);
+    List<BranchEntity> branches = branchRepository
+        .findAllByIdStreamIdAndIdBranchNumGreaterThanEqualOrderByIdBranchNum(id, branchNum);
+    if (branches.isEmpty() || branches.getFirst().getBranchNum() != branchNum) {
+      throw new IllegalArgumentException("Branch not found");
+    }
+    return assembleTree(branchNum, untilDepth, branches, points);
+  }
+
+  private static StreamDto.Tree assembleTree(
+      int rootBranchNum, int untilDepth, List<BranchEntity> branchEntities, List<PointDto.Response> points) {
+    // 하위 브랜치만 남긴다 (부모 브랜치가 먼저 처리되므로 부모가 남았는지로 판단)
+    Map<Integer, StreamDto.TreeBranch> branches = new LinkedHashMap<>();
+    for (BranchEntity branch : branchEntities) {
+      int[] path = PathUtils.parse(branch.getPath());
+      Integer parentBranchNum = path.length == 0 ? null : path[path.length - 1];
+      boolean inSubtree = branch.getBranchNum() == rootBranchNum || branches.containsKey(parentBranchNum);
+      if (inSubtree && branch.getForkDepth() < untilDepth) {
+        branches.put(branch.getBranchNum(),
+            new StreamDto.TreeBranch(branch.getBranchNum(), parentBranchNum, branch.getForkDepth()));
+      }
+    }
+
+    // 브랜치별 포인트 ID (인덱스는 depth - forkDepth - 1)
+    Map<Integer, List<Long>> pointIds = new HashMap<>();
+    List<StreamDto.TreeNode> nodes = new ArrayList<>(points.size());
+    for (PointDto.Response point : points) {
+      StreamDto.TreeBranch branch = branches.get(point.branchNum());
+      if (branch == null) {
+        continue;
+      }
+      List<Long> ids = pointIds.computeIfAbsent(point.branchNum(), key -> new ArrayList<>());
+      Long parentId = ids.isEmpty() ? forkPointId(branch, branches, pointIds) : ids.getLast();
+      ids.add(point.id());
+      nodes.add(new StreamDto.TreeNode(point.id(), parentId, point.branchNum(), point.depth(), point.itemId(),
+          point.childBranchNums()));
+    }
+    return new StreamDto.Tree(List.copyOf(branches.values()), nodes);
+  }
+
+  /** 브랜치가 분기한 포인트의 ID, 부모 브랜치가 조회 범위 밖이면 null */
+  private static Long forkPointId(
+      StreamDto.TreeBranch branch, Map<Integer, StreamDto.TreeBranch> branches, Map<Integer, List<Long>> pointIds) {
+    StreamDto.TreeBranch parent = branch.parentBranchNum() != null ? branches.get(branch.parentBranchNum()) : null;
+    if (parent == null) {
+      return null;
+    }
+    return pointIds.get(parent.branchNum()).get(branch.forkDepth() - parent.forkDepth() - 1);
   }
 
   public List<PointDto.Response> getBranchMessages(Long id, int branchNum, int depth) {
-    StreamEntity stream = streamRepository.findById(id)
+    return pathToPoints("getBranchMessages", id, getPath(id, branchNum), depth, Integer.MAX_VALUE);
+  }
+
+  /**
+   * {@link #getBranchMessages(Long, int, int)}의 커서 기반 버전으로, depth 이후 중 커서가 가리키는 구간만 조회
+   */
+  public PointDto.Page getBranchMessages(Long id, int branchNum, int depth, PointDto.Cursor cursor) {
+    return pathToPage("getBranchMessagesPage", id, getPath(id, branchNum), depth, cursor);
+  }
+
+  /** 가장 최근에 포인트를 추가한 브랜치의 경로 (캐시에 있으면 branches 테이블을 읽지 않음) */
+  private BranchPath getLatestPath(Long id) {
+    int latestBranchNum = streamRepository.findLatestBranchNumById(id)
         .orElseThrow(() -> new NoSuchElementException("Stream not found"));
+    return branchPathService.findPath(new BranchId(id, latestBranchNum))
+        .orElseThrow(() -> new IllegalStateException("Latest Branch not found"));
+  }
 
-    BranchEntity branch = branchRepository
-        .findById(new BranchId(stream.getId(), branchNum))
-        .orElseThrow(() -> new IllegalArgumentException("Branch not found"));
+  /** 브랜치의 경로 (캐시에 있으면 streams, branches 테이블을 읽지 않음) */
+  private BranchPath getPath(Long id, int branchNum) {
+    return branchPathService.findPath(new BranchId(id, branchNum))
+        .orElseThrow(() -> streamRepository.existsById(id)
+            ? new IllegalArgumentException("Branch not found")
+            : new NoSuchElementException("Stream not found"));
+  }
+
+  /**
+   * 경로 (minDepth, ∞) 중 커서가 가리키는 limit개를 조회
+   *
+   * <p>경로상의 depth는 루트부터 끝까지 빠짐없이 하나씩 존재하므로, limit개의 구간을 depth만으로 계산하여
+   * 그 구간만 읽습니다. 다음 페이지 존재 여부는 한 개를 더 읽어 판단합니다.</p>
+   *
+   * <p>커서의 depth는 초기 브랜치의 분기 depth({@value StreamConstants#INITIAL_BRANCH_FORK_DEPTH}) 이상이어야 하며,
+   * 구간 끝은 int 범위를 넘지 않도록 {@link Integer#MAX_VALUE}에서 자릅니다.</p>
+   */
+  private PointDto.Page pathToPage(
+      String operation, Long streamId, BranchPath path, int minDepth, PointDto.Cursor cursor) {
+    int limit = cursor.limit();
+    if (limit < 1 || limit > StreamConstants.MAX_PAGE_LIMIT) {
+      throw new IllegalArgumentException("limit must be between 1 and " + StreamConstants.MAX_PAGE_LIMIT);
+    }
+    if ((cursor.afterDepth() != null && cursor.afterDepth() < StreamConstants.INITIAL_BRANCH_FORK_DEPTH)
+        || (cursor.beforeDepth() != null && cursor.beforeDepth() < StreamConstants.INITIAL_BRANCH_FORK_DEPTH)) {
+      throw new IllegalArgumentException(
+          "afterDepth and beforeDepth must not be less than " + StreamConstants.INITIAL_BRANCH_FORK_DEPTH);
+    }
+    int afterDepth = cursor.afterDepth() != null ? Math.max(cursor.afterDepth(), minDepth) : minDepth;
 
-    String basePath = PathUtils.append(branch.getPath(), branchNum);
-    int[] branchNums = PathUtils.parse(basePath);
+    if (cursor.forward()) {
+      int untilDepth = (int) Math.min((long) afterDepth + limit + 1, Integer.MAX_VALUE);
+      List<PointDto.Response> points = pathToPoints(operation, streamId, path, afterDepth, untilDepth);
+      if (points.size() <= limit) {
+        return new PointDto.Page(points, null, null);
+      }
+      List<PointDto.Response> items = points.subList(0, limit);
+      return new PointDto.Page(items, null, items.getLast().depth());
+    }
 
-    List<PointEntity> points = pathToPoints(stream.getId(), branchNums, depth);
-    return points.stream().map(PointEntity::toResponse).toList();
+    int lastDepth = pointRepository.findMaxDepth(streamId, path.branchNum()).orElse(path.forkDepth());
+    int untilDepth = cursor.beforeDepth() != null ? Math.min(cursor.beforeDepth() - 1, lastDepth) : lastDepth;
+    List<PointDto.Response> points = pathToPoints(
+        operation, streamId, path, Math.max(afterDepth, untilDepth - limit - 1), untilDepth);
+    if (points.size() <= limit) {
+      return new PointDto.Page(points, null, null);
+    }
+    List<PointDto.Response> items = points.subList(1, points.size());
+    return new PointDto.Page(items, items.getFirst().depth(), null);
   }
 
-  private List<PointEntity> pathToPoints(Long streamId, int[] branchNums, int depth) {
-    List<PointEntity> messages = pointRepository.findAllUsingPath(
-        streamId, Arrays.stream(branchNums).boxed().toList(), depth);
+  private List<PointDto.Response> pathToPoints(
+      String operation, Long streamId, BranchPath path, int afterDepth, int untilDepth) {
+    List<PointDto.Response> points = pathToPoints(
+        operation, streamId, path, afterDepth, untilDepth, properties.pathQuery().mode());
+    pathQueryMetrics.recordPath(operation, path, points);
+    return points;
+  }
+
+  /**
+   * 설정과 무관하게 지정한 방식으로 브랜치 경로상 (afterDepth, untilDepth] 구간의 포인트를 조회 (방식 간 비교 테스트용으로 패키지 공개)
+   * range 방식만 구간을 DB 조회 조건으로 사용하고, 나머지는 afterDepth 이후를 읽은 뒤 untilDepth 이하만 남깁니다.
+   * 읽은 행 수와 남긴 행 수, 걸러내는 데 걸린 시간은 operation 태그로 기록합니다.
+   */
+  List<PointDto.Response> pathToPoints(
+      String operation, Long streamId, BranchPath path, int afterDepth, int untilDepth, PathQueryMode mode) {
+    if (mode == PathQueryMode.RANGE) {
+      List<PointDto.Response> points = pointRepository.findResponsesInRanges(
+          streamId, path.ranges(afterDepth, untilDepth));
+      pathQueryMetrics.recordRows(operation, mode, points.size(), points.size());
+      return points;
+    }
+
+    List<PointEntity> rows = mode == PathQueryMode.WINDOW
+        ? pointRepository.findPathUsingWindow(streamId, path.branchNumList(), afterDepth)
+        : pointRepository.findAllUsingPath(streamId, path.branchNumList(), StreamConstants.ROOT_POINT_DEPTH - 1);
+    List<PointDto.Response> points = pathQueryMetrics.clip(operation, mode, () ->
+        (mode == PathQueryMode.WINDOW ? rows : clip(rows)).stream()
+            .filter(point -> point.getDepth() > afterDepth && point.getDepth() <= untilDepth)
+            .map(PointEntity::toResponse)
+            .toList());
+    pathQueryMetrics.recordRows(operation, mode, rows.size(), points.size());
+    return points;
+  }
 
-    // 위 쿼리는 각 depth 별 최대 branchNum인 message들을 가져오므로 branchNum 변곡점에서 절삭
+  private static List<PointEntity> clip(List<PointEntity> messages) {
+    // findAllUsingPath는 각 depth 별 최대 branchNum인 message들을 가져오므로 branchNum 변곡점에서 절삭
+    // (depth 조건을 먼저 걸면 대상 브랜치가 끝난 뒤의 조상 브랜치 포인트가 남으므로 경로 전체를 대상으로 한다)
     int i = 0;
     int maxBranchNum = 0;
     List<PointEntity> clippedMessages = new ArrayList<>();
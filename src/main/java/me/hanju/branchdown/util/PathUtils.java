@@ -7,12 +7,16 @@ import java.util.Arrays;
  */
 public class PathUtils {
 
+  private static final char DELIMITER = ',';
+
   private PathUtils() {
   }
 
   /**
    * 쉼표로 구분된 path 문자열을 int 배열로 변환합니다.
    *
+   * <p>쉼표 개수로 결과 크기를 구한 뒤 문자를 한 번 훑으며 숫자를 누적하므로 결과 배열 외에는 할당하지 않습니다.</p>
+   *
    * @param path 쉼표로 구분된 path 문자열 (예: "0,1,2" 또는 "")
    * @return int 배열
    * @throws IllegalStateException    path가 null인 경우
@@ -23,15 +27,87 @@ public class PathUtils {
       throw new IllegalStateException("Path cannot be null");
     } else if (path.isEmpty()) {
       return new int[0];
-    } else {
-      try {
-        return Arrays.stream(path.split(","))
-            .mapToInt(Integer::parseInt)
-            .toArray();
-      } catch (final NumberFormatException e) {
-        throw new IllegalArgumentException("Invalid path format: " + path, e);
+    }
+    int count = 1;
+    for (int i = 0; i < path.length(); i++) {
+      if (path.charAt(i) == DELIMITER) {
+        count++;
       }
     }
+    final int[] result = new int[count];
+    int index = 0;
+    // Integer.parseInt와 같이 음수로 누적하여 Integer.MIN_VALUE까지 넘침 없이 처리
+    int value = 0;
+    int digits = 0;
+    boolean negative = false;
+    for (int i = 0; i <= path.length(); i++) {
+      final char c = i == path.length() ? DELIMITER : path.charAt(i);
+      if (c == DELIMITER) {
+        if (digits == 0) {
+          throw invalidPath(path);
+        }
+        result[index++] = negative ? value : -value;
+        value = 0;
+        digits = 0;
+        negative = false;
+      } else if (c == '-' && digits == 0 && !negative) {
+        negative = true;
+      } else if (c >= '0' && c <= '9') {
+        final int limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        final int digit = c - '0';
+        if (value < (negative ? Integer.MIN_VALUE / 10 : -Integer.MAX_VALUE / 10) || value * 10 < limit + digit) {
+          throw invalidPath(path);
+        }
+        value = value * 10 - digit;
+        digits++;
+      } else {
+        throw invalidPath(path);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * int 배열을 쉼표로 구분된 문자열로 변환합니다.
+   *
+   * <p>결과 길이를 먼저 계산하여 버퍼를 한 번만 할당합니다.</p>
+   *
+   * @param values 변환할 배열
+   * @return 쉼표로 구분된 문자열 (빈 배열이면 "")
+   * @throws IllegalStateException values가 null인 경우
+   */
+  public static String format(final int[] values) {
+    if (values == null) {
+      throw new IllegalStateException("Path cannot be null");
+    } else if (values.length == 0) {
+      return "";
+    }
+    int length = values.length - 1;
+    for (final int value : values) {
+      length += stringSize(value);
+    }
+    final StringBuilder builder = new StringBuilder(length);
+    builder.append(values[0]);
+    for (int i = 1; i < values.length; i++) {
+      builder.append(DELIMITER).append(values[i]);
+    }
+    return builder.toString();
+  }
+
+  private static IllegalArgumentException invalidPath(final String path) {
+    return new IllegalArgumentException("Invalid path format: " + path);
+  }
+
+  /** 값을 10진수 문자열로 썼을 때의 길이 */
+  private static int stringSize(final int value) {
+    if (value < 0) {
+      return value == Integer.MIN_VALUE ? 11 : 1 + stringSize(-value);
+    }
+    int size = 1;
+    for (int limit = 10; size < 10 && value >= limit; limit *= 10) {
+      size++;
+    }
+    return size;
   }
 
   /**
@@ -53,6 +129,8 @@ public class PathUtils {
   /**
    * IntArray 문자열에 값을 추가합니다.
    *
+   * <p>문자열 연결은 결과 길이를 계산해 한 번에 만들어지므로 별도 버퍼를 쓰지 않습니다.</p>
+   *
    * @param path  기존 IntArray 문자열 (예: "0,1" 또는 "")
    * @param value 추가할 값
    * @return 값이 추가된 새 IntArray 문자열
@@ -63,6 +141,6 @@ public class PathUtils {
     } else if (path.isEmpty()) {
       return String.valueOf(value);
     }
-    return path + "," + value;
+    return path + DELIMITER + value;
   }
 }
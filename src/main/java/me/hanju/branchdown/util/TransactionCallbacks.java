@@ -0,0 +1,31 @@
+package me.hanju.branchdown.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 트랜잭션 완료 시점에 작업을 실행하기 위한 유틸리티 클래스
+ */
+public class TransactionCallbacks {
+
+  private TransactionCallbacks() {
+  }
+
+  /**
+   * 현재 트랜잭션이 커밋된 뒤 작업을 실행합니다. 롤백되면 실행하지 않습니다.
+   *
+   * @param action 커밋 후 실행할 작업 (트랜잭션 동기화가 활성화되어 있지 않으면 바로 실행)
+   */
+  public static void afterCommit(final Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+}
@@ -0,0 +1,131 @@
+package me.hanju.branchdown.util;
+
+/**
+ * int 배열을 varint(LEB128)로 이어 붙인 바이트 배열로 변환하는 유틸리티 클래스
+ *
+ * <p>각 값은 하위 7비트씩 나누어 저장하고, 마지막 바이트를 제외한 바이트의 최상위 비트를 1로 둡니다.
+ * 0~127은 1바이트, 16383까지는 2바이트를 차지하며 음수는 5바이트로 저장됩니다.
+ * 값을 이어 붙이기만 하므로 배열의 앞부분을 인코딩한 결과는 전체 인코딩 결과의 앞부분과 같습니다.</p>
+ *
+ * <p>인코딩/디코딩은 먼저 결과 크기를 센 뒤 결과 배열 하나만 할당합니다.</p>
+ */
+public class VarInts {
+
+  private static final int PAYLOAD_MASK = 0x7F;
+  private static final int CONTINUATION_BIT = 0x80;
+  private static final int MAX_BYTES_PER_VALUE = 5;
+
+  private VarInts() {
+  }
+
+  /**
+   * 값 하나를 인코딩했을 때의 바이트 수를 반환합니다.
+   *
+   * @param value 인코딩할 값
+   * @return 1~5
+   */
+  public static int size(final int value) {
+    if ((value & ~0x7F) == 0) {
+      return 1;
+    } else if ((value & ~0x3FFF) == 0) {
+      return 2;
+    } else if ((value & ~0x1FFFFF) == 0) {
+      return 3;
+    } else if ((value & ~0xFFFFFFF) == 0) {
+      return 4;
+    }
+    return MAX_BYTES_PER_VALUE;
+  }
+
+  /**
+   * int 배열을 varint 바이트 배열로 변환합니다.
+   *
+   * @param values 변환할 배열
+   * @return 인코딩된 바이트 배열 (빈 배열이면 길이 0)
+   * @throws IllegalStateException values가 null인 경우
+   */
+  public static byte[] encode(final int[] values) {
+    if (values == null) {
+      throw new IllegalStateException("Values cannot be null");
+    }
+    int length = 0;
+    for (final int value : values) {
+      length += size(value);
+    }
+    final byte[] bytes = new byte[length];
+    int position = 0;
+    for (final int value : values) {
+      position = write(bytes, position, value);
+    }
+    return bytes;
+  }
+
+  /**
+   * 값 하나를 지정한 위치에 기록합니다.
+   *
+   * @param bytes    기록할 배열 (최소 {@link #size(int)}만큼 남아 있어야 함)
+   * @param position 기록을 시작할 위치
+   * @param value    기록할 값
+   * @return 기록이 끝난 다음 위치
+   */
+  public static int write(final byte[] bytes, int position, int value) {
+    while ((value & ~PAYLOAD_MASK) != 0) {
+      bytes[position++] = (byte) ((value & PAYLOAD_MASK) | CONTINUATION_BIT);
+      value >>>= 7;
+    }
+    bytes[position++] = (byte) value;
+    return position;
+  }
+
+  /**
+   * 인코딩된 값의 개수를 반환합니다.
+   *
+   * @param bytes 인코딩된 바이트 배열
+   * @return 값의 개수
+   * @throws IllegalArgumentException 마지막 값이 끝나지 않은 경우
+   */
+  public static int count(final byte[] bytes) {
+    int count = 0;
+    for (final byte b : bytes) {
+      if ((b & CONTINUATION_BIT) == 0) {
+        count++;
+      }
+    }
+    if (bytes.length > 0 && (bytes[bytes.length - 1] & CONTINUATION_BIT) != 0) {
+      throw new IllegalArgumentException("Truncated varint at end of " + bytes.length + " bytes");
+    }
+    return count;
+  }
+
+  /**
+   * varint 바이트 배열을 int 배열로 변환합니다.
+   *
+   * @param bytes 인코딩된 바이트 배열
+   * @return 디코딩된 배열
+   * @throws IllegalStateException    bytes가 null인 경우
+   * @throws IllegalArgumentException 형식이 올바르지 않은 경우
+   */
+  public static int[] decode(final byte[] bytes) {
+    if (bytes == null) {
+      throw new IllegalStateException("Bytes cannot be null");
+    }
+    final int[] values = new int[count(bytes)];
+    int index = 0;
+    int value = 0;
+    int shift = 0;
+    for (final byte b : bytes) {
+      if (shift >= 7 * MAX_BYTES_PER_VALUE) {
+        throw new IllegalArgumentException("Varint longer than " + MAX_BYTES_PER_VALUE + " bytes");
+      }
+      value |= (b & PAYLOAD_MASK) << shift;
+      if ((b & CONTINUATION_BIT) == 0) {
+        values[index++] = value;
+        value = 0;
+        shift = 0;
+      } else {
+        shift += 7;
+      }
+    }
+    return values;
+  }
+}
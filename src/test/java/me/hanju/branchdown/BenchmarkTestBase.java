@@ -0,0 +1,167 @@
+package me.hanju.branchdown;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import lombok.extern.slf4j.Slf4j;
+import me.hanju.branchdown.config.TestcontainersConfig;
+
+/**
+ * 벤치마크를 위한 베이스 클래스
+ *
+ * <p>{@code benchmark} 태그가 붙어 {@code ./gradlew test}에서는 제외되고 {@code ./gradlew benchmark}로만 실행됩니다.</p>
+ *
+ * <h3>IntegrationTestBase와의 차이</h3>
+ * <ul>
+ *   <li>테스트 트랜잭션을 사용하지 않습니다. 각 호출이 실제 운영과 같이 자신의 트랜잭션을 커밋합니다.</li>
+ *   <li>SQL 로깅과 Hibernate 통계를 끄고 측정하며, 결과는 로그로 출력합니다.</li>
+ *   <li>웹 서버 없이 실행합니다. HTTP로 측정하는 벤치마크는 {@code @SpringBootTest}를 다시 선언합니다.</li>
+ *   <li>{@code SPRING_DATASOURCE_URL}(또는 {@code -Dspring.datasource.url})을 지정하면 MariaDB 컨테이너를 띄우지 않고
+ *       그 DB에서 측정합니다. 계정은 {@code SPRING_DATASOURCE_USERNAME}/{@code SPRING_DATASOURCE_PASSWORD}로 지정합니다.</li>
+ * </ul>
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.[generate_statistics]=false",
+    "logging.level.org.hibernate.orm.jdbc.bind=WARN",
+    "logging.level.me.hanju.branchdown=INFO"
+})
+@Import(BenchmarkTestBase.ContainerDatabaseConfig.class)
+@ActiveProfiles("test")
+public abstract class BenchmarkTestBase {
+
+  /** 측정 횟수 (-Dbenchmark.operations로 변경 가능) */
+  protected static final int OPERATIONS = Integer.getInteger("benchmark.operations", 1000);
+
+  /** 측정 전 워밍업 횟수 */
+  protected static final int WARMUP_OPERATIONS = Math.max(1, OPERATIONS / 10);
+
+  /**
+   * 접속할 DB가 지정되지 않았을 때만 MariaDB 컨테이너를 띄웁니다.
+   * {@code @ServiceConnection}은 {@code spring.datasource.url}보다 우선하므로 항상 가져오면 지정한 DB가 무시됩니다.
+   */
+  @TestConfiguration(proxyBeanMethods = false)
+  @ConditionalOnExpression("'${spring.datasource.url:}'.isEmpty()")
+  @Import(TestcontainersConfig.class)
+  static class ContainerDatabaseConfig {
+  }
+
+  /**
+   * 워밍업 후 작업을 반복 실행하여 초당 처리량을 측정합니다.
+   *
+   * @param name       측정 이름
+   * @param operations 반복 횟수
+   * @param operation  측정할 작업
+   * @return 초당 처리량 (ops/s)
+   */
+  protected double measureThroughput(String name, int operations, Runnable operation) {
+    for (int i = 0; i < WARMUP_OPERATIONS; i++) {
+      operation.run();
+    }
+
+    long start = System.nanoTime();
+    for (int i = 0; i < operations; i++) {
+      operation.run();
+    }
+    long elapsed = System.nanoTime() - start;
+
+    double opsPerSecond = operations / (elapsed / 1_000_000_000.0);
+    log.info("[benchmark] {} ({}): {} ops in {} ms, {} ops/s",
+        name, getClass().getSimpleName(), operations, elapsed / 1_000_000, String.format("%.1f", opsPerSecond));
+    return opsPerSecond;
+  }
+
+  /**
+   * 여러 스레드가 동시에 작업을 반복 실행하여 전체 초당 처리량을 측정합니다.
+   * 각 스레드는 워밍업 후 모든 스레드가 준비되면 함께 시작합니다.
+   *
+   * @param name       측정 이름
+   * @param threads    스레드 수
+   * @param operations 스레드별 반복 횟수
+   * @param operation  측정할 작업 (인자는 스레드 번호)
+   * @return 전체 초당 처리량 (ops/s)
+   */
+  protected double measureConcurrentThroughput(String name, int threads, int operations, IntConsumer operation)
+      throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CyclicBarrier barrier = new CyclicBarrier(threads + 1);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        int thread = t;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < WARMUP_OPERATIONS; i++) {
+            operation.accept(thread);
+          }
+          barrier.await();
+          for (int i = 0; i < operations; i++) {
+            operation.accept(thread);
+          }
+          return null;
+        }));
+      }
+      barrier.await();
+      long start = System.nanoTime();
+      for (Future<?> future : futures) {
+        future.get();
+      }
+      long elapsed = System.nanoTime() - start;
+
+      double opsPerSecond = (double) threads * operations / (elapsed / 1_000_000_000.0);
+      log.info("[benchmark] {} ({}): {} threads x {} ops in {} ms, {} ops/s",
+          name, getClass().getSimpleName(), threads, operations, elapsed / 1_000_000,
+          String.format("%.1f", opsPerSecond));
+      return opsPerSecond;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * 워밍업 후 작업을 반복 실행하여 평균 지연 시간과 호출당 힙 할당량을 측정합니다.
+   * 할당량은 현재 스레드 기준이므로 작업은 호출 스레드에서 실행되어야 합니다.
+   *
+   * @param name       측정 이름
+   * @param operations 반복 횟수
+   * @param operation  측정할 작업
+   * @return 평균 지연 시간 (µs)
+   */
+  protected double measureLatency(String name, int operations, Runnable operation) {
+    for (int i = 0; i < WARMUP_OPERATIONS; i++) {
+      operation.run();
+    }
+
+    com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().threadId();
+    long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+    long start = System.nanoTime();
+    for (int i = 0; i < operations; i++) {
+      operation.run();
+    }
+    long elapsed = System.nanoTime() - start;
+    long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+    double micros = elapsed / 1_000.0 / operations;
+    log.info("[benchmark] {} ({}): {} ops, {} µs/op, {} KB/op",
+        name, getClass().getSimpleName(), operations,
+        String.format("%.1f", micros), String.format("%.1f", allocated / 1024.0 / operations));
+    return micros;
+  }
+}
@@ -0,0 +1,74 @@
+package me.hanju.branchdown.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 실제 포트로 띄운 서버에 요청을 보내는 벤치마크용 HTTP 클라이언트
+ *
+ * <p>2xx가 아닌 응답은 예외로 처리하여 측정 결과에 실패한 요청이 섞이지 않게 합니다.</p>
+ */
+class BenchmarkHttpClient implements AutoCloseable {
+
+  private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+  private final String baseUrl;
+  private final ObjectMapper objectMapper;
+
+  BenchmarkHttpClient(int port, ObjectMapper objectMapper) {
+    this.baseUrl = "http://localhost:" + port;
+    this.objectMapper = objectMapper;
+  }
+
+  String get(String path) {
+    return send(HttpRequest.newBuilder(uri(path)).GET());
+  }
+
+  String post(String path, String json) {
+    return send(HttpRequest.newBuilder(uri(path))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(json)));
+  }
+
+  void delete(String path) {
+    send(HttpRequest.newBuilder(uri(path)).DELETE());
+  }
+
+  JsonNode readTree(String body) {
+    try {
+      return objectMapper.readTree(body);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void close() {
+    client.close();
+  }
+
+  private String send(HttpRequest.Builder request) {
+    try {
+      HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+      if (response.statusCode() / 100 != 2) {
+        throw new IllegalStateException("HTTP " + response.statusCode() + ": " + response.body());
+      }
+      return response.body();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private URI uri(String path) {
+    return URI.create(baseUrl + path);
+  }
+}
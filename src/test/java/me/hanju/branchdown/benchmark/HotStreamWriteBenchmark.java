@@ -0,0 +1,67 @@
+package me.hanju.branchdown.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import me.hanju.branchdown.BenchmarkTestBase;
+import me.hanju.branchdown.repository.StreamRepository;
+import me.hanju.branchdown.service.PointWriteQueue;
+import me.hanju.branchdown.service.StreamService;
+
+/**
+ * 한 스트림에 동시에 추가할 때의 pointDown 처리량 벤치마크
+ *
+ * <pre>
+ * ./gradlew benchmark --tests '*HotStreamWriteBenchmark*'
+ * </pre>
+ *
+ * <p>여러 스레드(기본 32, -Dbenchmark.threads로 변경)가 같은 스트림에서 각자의 브랜치 끝에 포인트를 이어 붙입니다.
+ * 스트림별 쓰기 큐 사용 여부에 따른 처리량을 {@code [benchmark]} 로그로 비교합니다.</p>
+ */
+abstract class HotStreamWriteBenchmark extends BenchmarkTestBase {
+
+  private static final int THREADS = Integer.getInteger("benchmark.threads", 32);
+
+  @Autowired
+  private StreamService streamService;
+
+  @Autowired
+  private PointWriteQueue pointWriteQueue;
+
+  @Autowired
+  private StreamRepository streamRepository;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Test
+  @DisplayName("pointDown: 한 스트림의 여러 브랜치에 동시에 추가")
+  void pointDown() throws Exception {
+    Long streamId = streamService.createStream().id();
+    Long rootId = transactionTemplate.execute(status -> streamRepository.findById(streamId).orElseThrow()
+        .getBranches().get(0).getPoints().get(0).getId());
+    Long[] leafIds = new Long[THREADS];
+    for (int t = 0; t < THREADS; t++) {
+      leafIds[t] = pointWriteQueue.pointDown(rootId, "fork").id();
+    }
+
+    double opsPerSecond = measureConcurrentThroughput("pointDown(hot stream)", THREADS, OPERATIONS / THREADS + 1,
+        thread -> leafIds[thread] = pointWriteQueue.pointDown(leafIds[thread], "item").id());
+
+    assertThat(opsPerSecond).isPositive();
+  }
+
+  /** 요청마다 각자의 트랜잭션 (기본 설정) */
+  static class Direct extends HotStreamWriteBenchmark {
+  }
+
+  /** 스트림별 쓰기 큐로 묶어 처리 */
+  @TestPropertySource(properties = "branchdown.write-queue.enabled=true")
+  static class WriteQueue extends HotStreamWriteBenchmark {
+  }
+}
@@ -0,0 +1,104 @@
+package me.hanju.branchdown.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+import me.hanju.branchdown.BenchmarkTestBase;
+import me.hanju.branchdown.repository.StreamRepository;
+import me.hanju.branchdown.service.PointService;
+import me.hanju.branchdown.service.StreamService;
+
+/**
+ * ID 채번 방식별 INSERT 처리량 벤치마크
+ *
+ * <pre>
+ * ./gradlew benchmark --tests '*IdGenerationBenchmark*'
+ * </pre>
+ *
+ * <p>설정마다 별도의 컨텍스트(와 DB 컨테이너)에서 실행되며, 결과는 {@code [benchmark]} 로그로 비교합니다.
+ * {@link RoundTripPerInsert}는 INSERT마다 채번 왕복이 발생하고 JDBC 배치가 꺼진 기준선으로,
+ * 기존 IDENTITY 채번과 같은 왕복 수를 가집니다.
+ * {@code SPRING_DATASOURCE_URL}로 DB를 지정하면 모든 설정이 같은 스키마를 쓰므로, 시퀀스 증가폭이 다른
+ * {@link RoundTripPerInsert}는 빈 DB에서 따로 실행합니다.</p>
+ */
+@Slf4j
+abstract class IdGenerationBenchmark extends BenchmarkTestBase {
+
+  private static final int BATCH_SIZE = 100;
+
+  @Autowired
+  private StreamService streamService;
+
+  @Autowired
+  private PointService pointService;
+
+  @Autowired
+  private StreamRepository streamRepository;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Test
+  @DisplayName("createStream: 스트림 + 브랜치 + 루트 포인트 INSERT")
+  void createStream() {
+    double opsPerSecond = measureThroughput("createStream", OPERATIONS, streamService::createStream);
+
+    assertThat(opsPerSecond).isPositive();
+  }
+
+  @Test
+  @DisplayName("pointDown: 선형으로 포인트 하나씩 추가")
+  void pointDown() {
+    Long[] parentId = { rootPointId(streamService.createStream().id()) };
+
+    double opsPerSecond = measureThroughput("pointDown", OPERATIONS,
+        () -> parentId[0] = pointService.pointDown(parentId[0], "item").id());
+
+    assertThat(opsPerSecond).isPositive();
+  }
+
+  @Test
+  @DisplayName("pointDownBatch: " + BATCH_SIZE + "개씩 일괄 추가")
+  void pointDownBatch() {
+    Long[] parentId = { rootPointId(streamService.createStream().id()) };
+    List<String> itemIds = IntStream.range(0, BATCH_SIZE).mapToObj(i -> "item").toList();
+
+    double batchesPerSecond = measureThroughput("pointDownBatch(" + BATCH_SIZE + ")", OPERATIONS / BATCH_SIZE + 1,
+        () -> parentId[0] = pointService.pointDownBatch(parentId[0], itemIds).getLast().id());
+    log.info("[benchmark] pointDownBatch ({}): {} points/s",
+        getClass().getSimpleName(), String.format("%.1f", batchesPerSecond * BATCH_SIZE));
+
+    assertThat(batchesPerSecond).isPositive();
+  }
+
+  private Long rootPointId(Long streamId) {
+    return transactionTemplate.execute(status -> streamRepository.findById(streamId).orElseThrow()
+        .getBranches().get(0).getPoints().get(0).getId());
+  }
+
+  /** 채번 왕복 1회/INSERT, JDBC 배치 없음 (IDENTITY 기준선) */
+  @TestPropertySource(properties = {
+      "spring.jpa.properties.branchdown.id.allocation-size=1",
+      "spring.jpa.properties.hibernate.jdbc.[batch_size]=0"
+  })
+  static class RoundTripPerInsert extends IdGenerationBenchmark {
+  }
+
+  /** pooled 시퀀스 (기본 설정) */
+  static class PooledSequence extends IdGenerationBenchmark {
+  }
+
+  /** pooled 테이블 */
+  @TestPropertySource(properties = "spring.jpa.properties.branchdown.id.mode=table")
+  static class PooledTable extends IdGenerationBenchmark {
+  }
+}
@@ -0,0 +1,59 @@
+package me.hanju.branchdown.benchmark;
+
+import java.util.Arrays;
+
+/**
+ * 요청별 지연 시간 분포 요약 (벤치마크 로그와 JSON 리포트에서 사용)
+ *
+ * @param samples      측정한 요청 수
+ * @param opsPerSecond 측정 구간 전체 기준 초당 처리량
+ * @param meanMicros   평균 지연 시간 (µs)
+ * @param p50Micros    50 백분위 지연 시간 (µs)
+ * @param p90Micros    90 백분위 지연 시간 (µs)
+ * @param p99Micros    99 백분위 지연 시간 (µs)
+ * @param maxMicros    최대 지연 시간 (µs)
+ */
+record LatencyStats(
+    int samples,
+    double opsPerSecond,
+    double meanMicros,
+    double p50Micros,
+    double p90Micros,
+    double p99Micros,
+    double maxMicros) {
+
+  /**
+   * @param latencies    요청별 지연 시간 (ns)
+   * @param elapsedNanos 측정 구간 전체 시간 (ns)
+   */
+  static LatencyStats of(long[] latencies, long elapsedNanos) {
+    long[] sorted = latencies.clone();
+    Arrays.sort(sorted);
+    return new LatencyStats(
+        sorted.length,
+        round(sorted.length / (elapsedNanos / 1_000_000_000.0)),
+        round(Arrays.stream(sorted).average().orElse(0) / 1_000.0),
+        micros(percentile(sorted, 0.50)),
+        micros(percentile(sorted, 0.90)),
+        micros(percentile(sorted, 0.99)),
+        micros(sorted[sorted.length - 1]));
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d ops, %.1f ops/s, mean %.1f µs, p50 %.1f µs, p90 %.1f µs, p99 %.1f µs, max %.1f µs",
+        samples, opsPerSecond, meanMicros, p50Micros, p90Micros, p99Micros, maxMicros);
+  }
+
+  private static long percentile(long[] sorted, double percentile) {
+    return sorted[Math.max(0, (int) Math.ceil(sorted.length * percentile) - 1)];
+  }
+
+  private static double micros(long nanos) {
+    return round(nanos / 1_000.0);
+  }
+
+  private static double round(double value) {
+    return Math.round(value * 10) / 10.0;
+  }
+}
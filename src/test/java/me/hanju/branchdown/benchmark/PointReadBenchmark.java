@@ -0,0 +1,129 @@
+package me.hanju.branchdown.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+import me.hanju.branchdown.BenchmarkTestBase;
+import me.hanju.branchdown.dto.PointDto;
+import me.hanju.branchdown.repository.StreamRepository;
+import me.hanju.branchdown.service.PointService;
+import me.hanju.branchdown.service.StreamService;
+
+/**
+ * 경로 조회 방식별 읽기 지연 시간/할당량 벤치마크
+ *
+ * <pre>
+ * ./gradlew benchmark --tests '*PointReadBenchmark*'
+ * </pre>
+ *
+ * <p>무작위로 분기한 스트림(기본 10,000 포인트, -Dbenchmark.stream-points로 변경)을 한 번 만든 뒤
+ * 조회 API를 반복 호출합니다. 할당량은 호출 스레드의 힙 할당 바이트입니다.</p>
+ */
+@Slf4j
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+abstract class PointReadBenchmark extends BenchmarkTestBase {
+
+  private static final int STREAM_POINTS = Integer.getInteger("benchmark.stream-points", 10_000);
+  private static final int MAX_BATCH_SIZE = 50;
+
+  @Autowired
+  private StreamService streamService;
+
+  @Autowired
+  private PointService pointService;
+
+  @Autowired
+  private StreamRepository streamRepository;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  private Long streamId;
+  private int branchCount;
+  private List<Long> pointIds;
+
+  @BeforeAll
+  void createStream() {
+    Random random = new Random(42);
+    streamId = streamService.createStream().id();
+    Long rootId = transactionTemplate.execute(status -> streamRepository.findById(streamId).orElseThrow()
+        .getBranches().get(0).getPoints().get(0).getId());
+
+    List<PointDto.Response> points = new ArrayList<>(STREAM_POINTS);
+    points.add(pointService.pointDown(rootId, "item"));
+    while (points.size() < STREAM_POINTS) {
+      PointDto.Response parent = random.nextInt(4) == 0
+          ? points.get(random.nextInt(points.size()))
+          : points.getLast();
+      List<String> itemIds = IntStream.range(0, 1 + random.nextInt(MAX_BATCH_SIZE)).mapToObj(i -> "item").toList();
+      points.addAll(pointService.pointDownBatch(parent.id(), itemIds));
+    }
+
+    branchCount = streamRepository.findNextBranchNumById(streamId).orElseThrow();
+    pointIds = random.ints(100, 0, points.size()).mapToObj(i -> points.get(i).id()).toList();
+    log.info("[benchmark] stream: {} points, {} branches, max depth {}", points.size(), branchCount,
+        points.stream().mapToInt(PointDto.Response::depth).max().orElseThrow());
+  }
+
+  @Test
+  @DisplayName("getStreamPoints: 최신 브랜치 경로 전체 조회")
+  void getStreamPoints() {
+    int[] size = new int[1];
+    measureLatency("getStreamPoints", OPERATIONS, () -> size[0] = streamService.getStreamPoints(streamId).size());
+
+    assertThat(size[0]).isPositive();
+  }
+
+  @Test
+  @DisplayName("getBranchMessages: 모든 브랜치를 돌아가며 경로 전체 조회")
+  void getBranchMessages() {
+    AtomicInteger next = new AtomicInteger();
+    measureLatency("getBranchMessages", OPERATIONS,
+        () -> streamService.getBranchMessages(streamId, next.getAndIncrement() % branchCount, -1));
+
+    assertThat(next.get()).isPositive();
+  }
+
+  @Test
+  @DisplayName("getAncestors: 임의 포인트의 조상 조회")
+  void getAncestors() {
+    AtomicInteger next = new AtomicInteger();
+    measureLatency("getAncestors", OPERATIONS,
+        () -> pointService.getAncestors(pointIds.get(next.getAndIncrement() % pointIds.size())));
+
+    assertThat(next.get()).isPositive();
+  }
+
+  /** depth별 최대 branchNum 조회 후 Java에서 절삭 */
+  @TestPropertySource(properties = "branchdown.path-query.mode=legacy")
+  static class Legacy extends PointReadBenchmark {
+  }
+
+  /** 윈도우 함수로 DB에서 절삭 */
+  @TestPropertySource(properties = "branchdown.path-query.mode=window")
+  static class Window extends PointReadBenchmark {
+  }
+
+  /** 분기 depth 구간별 범위 조회 (기본 설정) */
+  static class Range extends PointReadBenchmark {
+  }
+
+  /** 범위 조회 + 조상 목록 캐시 */
+  @TestPropertySource(properties = "branchdown.cache.ancestors-enabled=true")
+  static class RangeWithAncestorCache extends PointReadBenchmark {
+  }
+}
@@ -0,0 +1,146 @@
+package me.hanju.branchdown.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import me.hanju.branchdown.constant.StreamConstants;
+import me.hanju.branchdown.dto.PointDto;
+import me.hanju.branchdown.service.PointService;
+import me.hanju.branchdown.service.StreamService;
+
+/**
+ * 벤치마크용 합성 스트림 생성기
+ *
+ * <p>현재 끝 포인트에 포인트를 이어 붙이다가, 포인트마다 {@code forkProbability} 확률로 (또는 depth가 상한에 닿으면)
+ * 임의의 기존 포인트로 옮겨 그 아래에서 분기합니다. 브랜치 수가 {@code branches}에 닿으면 멈춥니다.
+ * 분기 없이 이어지는 구간은 pointDownBatch로 ({@value StreamConstants#MAX_BATCH_DOWN_SIZE}개씩 나누어) 추가하며,
+ * 같은 seed로는 같은 모양의 스트림이 만들어집니다.</p>
+ */
+class StreamGenerator {
+
+  private final StreamService streamService;
+  private final PointService pointService;
+
+  StreamGenerator(StreamService streamService, PointService pointService) {
+    this.streamService = streamService;
+    this.pointService = pointService;
+  }
+
+  /**
+   * 설정한 모양의 스트림을 만듭니다.
+   *
+   * @param profile 스트림 모양
+   * @param seed    난수 seed
+   * @return 생성한 스트림과 포인트 목록
+   */
+  GeneratedStream generate(Profile profile, long seed) {
+    Random random = new Random(seed);
+    long start = System.nanoTime();
+    Long streamId = streamService.createStream().id();
+    PointDto.Response root = streamService.getStreamPoints(streamId).getFirst();
+
+    List<PointDto.Response> points = new ArrayList<>();
+    PointDto.Response tip = root;
+    int branches = 1;
+    while (true) {
+      int room = profile.depth() - tip.depth();
+      if (room > 0) {
+        // 한 번에 추가할 수 있는 수를 넘는 구간은 나누어 같은 브랜치로 이어 붙인다
+        for (int run = runLength(profile.forkProbability(), room, random); run > 0;) {
+          List<String> itemIds = IntStream.range(0, Math.min(run, StreamConstants.MAX_BATCH_DOWN_SIZE))
+              .mapToObj(i -> "item").toList();
+          List<PointDto.Response> appended = pointService.pointDownBatch(tip.id(), itemIds);
+          points.addAll(appended);
+          branches = Math.max(branches, appended.getFirst().branchNum() + 1);
+          tip = appended.getLast();
+          run -= itemIds.size();
+        }
+      }
+      if (branches >= profile.branches()) {
+        break;
+      }
+      tip = forkPoint(root, points, profile.depth(), random);
+    }
+    long elapsed = System.nanoTime() - start;
+
+    int maxDepth = points.stream().mapToInt(PointDto.Response::depth).max().orElse(0);
+    return new GeneratedStream(streamId, List.copyOf(points), branches, maxDepth, elapsed);
+  }
+
+  /** 다음 분기까지 이어 붙일 포인트 수 (기하분포, 1 이상 room 이하) */
+  private static int runLength(double forkProbability, int room, Random random) {
+    if (forkProbability <= 0) {
+      return room;
+    }
+    if (forkProbability >= 1) {
+      return 1;
+    }
+    double run = 1 + Math.floor(Math.log(1 - random.nextDouble()) / Math.log(1 - forkProbability));
+    return (int) Math.min(run, room);
+  }
+
+  /** 분기할 기준 포인트 (depth가 상한보다 작은 포인트 중 임의로, 루트 포함) */
+  private static PointDto.Response forkPoint(PointDto.Response root, List<PointDto.Response> points, int depth,
+      Random random) {
+    for (int attempt = 0; attempt < 100; attempt++) {
+      int index = random.nextInt(points.size() + 1);
+      PointDto.Response point = index == points.size() ? root : points.get(index);
+      if (point.depth() < depth) {
+        return point;
+      }
+    }
+    return root;
+  }
+
+  /**
+   * 생성할 스트림 모양
+   *
+   * @param name            이름 (리포트 구분용)
+   * @param depth           포인트 depth 상한
+   * @param forkProbability 포인트를 추가할 때마다 분기할 확률
+   * @param branches        만들 브랜치 수
+   */
+  record Profile(String name, int depth, double forkProbability, int branches) {
+
+    Profile {
+      if (depth < 1 || branches < 1 || forkProbability < 0 || forkProbability > 1) {
+        throw new IllegalArgumentException("Invalid profile: " + name);
+      }
+    }
+
+    /**
+     * {@code 이름:depth:분기확률:브랜치수}를 쉼표로 구분한 목록을 읽습니다.
+     *
+     * @param value 예: {@code linear:2000:0:1,bushy:100:0.2:200}
+     * @return 스트림 모양 목록
+     */
+    static List<Profile> parseAll(String value) {
+      return Arrays.stream(value.split(",")).map(String::trim).filter(s -> !s.isEmpty()).map(Profile::parse).toList();
+    }
+
+    private static Profile parse(String value) {
+      String[] parts = value.split(":");
+      if (parts.length != 4) {
+        throw new IllegalArgumentException("Invalid profile (name:depth:forkProbability:branches): " + value);
+      }
+      return new Profile(parts[0], Integer.parseInt(parts[1]), Double.parseDouble(parts[2]),
+          Integer.parseInt(parts[3]));
+    }
+  }
+
+  /**
+   * 생성한 스트림
+   *
+   * @param streamId     스트림 ID
+   * @param points       루트를 제외한 포인트 (추가한 순서)
+   * @param branches     브랜치 수
+   * @param maxDepth     최대 depth
+   * @param elapsedNanos 생성에 걸린 시간 (ns)
+   */
+  record GeneratedStream(Long streamId, List<PointDto.Response> points, int branches, int maxDepth,
+      long elapsedNanos) {
+  }
+}
@@ -0,0 +1,259 @@
+package me.hanju.branchdown.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+import me.hanju.branchdown.BenchmarkTestBase;
+import me.hanju.branchdown.config.BranchdownProperties;
+import me.hanju.branchdown.dto.PointDto;
+import me.hanju.branchdown.service.PointService;
+import me.hanju.branchdown.service.StreamService;
+
+/**
+ * 합성 스트림 모양별 엔드포인트 처리량/지연 시간 벤치마크
+ *
+ * <pre>
+ * ./gradlew benchmark --tests '*StreamScalingBenchmark*'
+ * </pre>
+ *
+ * <p>{@link StreamGenerator}로 스트림 모양마다 스트림을 만든 뒤, 실제 포트로 띄운 서버의 모든 엔드포인트를
+ * 한 클라이언트로 반복 호출하여 처리량과 지연 시간 백분위를 측정합니다. 쓰기 엔드포인트는 생성한 스트림의 모양이
+ * 읽기 측정에 영향을 주지 않도록 읽기 측정이 끝난 뒤 측정합니다.</p>
+ *
+ * <ul>
+ *   <li>{@code -Dbenchmark.profiles}: 스트림 모양 목록 ({@code 이름:depth:분기확률:브랜치수}, 쉼표로 구분)</li>
+ *   <li>{@code -Dbenchmark.samples}: 엔드포인트별 측정 횟수 (기본 200, 내보내기는 1/10)</li>
+ *   <li>{@code -Dbenchmark.report}: JSON 리포트 경로 (기본 {@code build/reports/benchmark/stream-scaling.json})</li>
+ * </ul>
+ *
+ * <p>컨테이너 대신 다른 MariaDB 서버나 H2에서 측정하려면 {@code SPRING_DATASOURCE_URL} 등을 지정합니다
+ * ({@link me.hanju.branchdown.BenchmarkTestBase} 참조). 네이티브 쿼리가 있어 그 밖의 DB에서는 검증하지 않았습니다.
+ * 리포트에는 DB 제품/버전과 주요 설정이 함께 기록되므로 릴리스 간 결과를 비교할 수 있습니다.</p>
+ */
+@Slf4j
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class StreamScalingBenchmark extends BenchmarkTestBase {
+
+  private static final String DEFAULT_PROFILES = "linear:2000:0:1,bushy:100:0.2:200,deep:1000:0.02:50";
+  private static final int SAMPLES = Integer.getInteger("benchmark.samples", 200);
+  private static final int PAGE_LIMIT = 50;
+  private static final int BATCH_SIZE = 10;
+  private static final long SEED = 42;
+  /** JIT 워밍업용 작은 스트림 (리포트에 포함하지 않음) */
+  private static final StreamGenerator.Profile WARMUP = new StreamGenerator.Profile("warmup", 50, 0.2, 10);
+
+  @LocalServerPort
+  private int port;
+
+  @Autowired
+  private StreamService streamService;
+
+  @Autowired
+  private PointService pointService;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private BranchdownProperties properties;
+
+  @Autowired
+  private Environment environment;
+
+  private StreamGenerator generator;
+  private BenchmarkHttpClient client;
+  private final List<ProfileResult> results = new ArrayList<>();
+
+  @BeforeAll
+  void setUp() {
+    generator = new StreamGenerator(streamService, pointService);
+    client = new BenchmarkHttpClient(port, objectMapper);
+    run(WARMUP);
+  }
+
+  static List<StreamGenerator.Profile> profiles() {
+    return StreamGenerator.Profile.parseAll(System.getProperty("benchmark.profiles", DEFAULT_PROFILES));
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("profiles")
+  void endpoints(StreamGenerator.Profile profile) {
+    ProfileResult result = run(profile);
+
+    results.add(result);
+    assertThat(result.operations().values()).allSatisfy(stats -> assertThat(stats.opsPerSecond()).isPositive());
+  }
+
+  /** 스트림을 만들고 모든 엔드포인트를 측정합니다. */
+  private ProfileResult run(StreamGenerator.Profile profile) {
+    StreamGenerator.GeneratedStream stream = generator.generate(profile, SEED);
+    StreamShape shape = StreamShape.of(stream);
+    log.info("[benchmark] {}: {} points, {} branches, max depth {}, generated in {} ms ({} points/s)",
+        profile.name(), shape.points(), shape.branches(), shape.maxDepth(), shape.generateMillis(),
+        shape.generatePointsPerSecond());
+
+    Random random = new Random(SEED);
+    List<PointDto.Response> points = stream.points();
+    String base = "/api/streams/" + stream.streamId();
+    Map<String, LatencyStats> operations = new LinkedHashMap<>();
+    Measure measure = (name, samples, request) -> {
+      LatencyStats stats = measure(samples, request);
+      log.info("[benchmark] {} {}: {}", profile.name(), name, stats);
+      operations.put(name, stats);
+    };
+
+    measure.run("GET /api/streams/{id}", SAMPLES, i -> client.get(base));
+    measure.run("GET /api/streams/{id}/points", SAMPLES, i -> client.get(base + "/points"));
+    measure.run("GET /api/streams/{id}/points?limit", SAMPLES,
+        i -> client.get(base + "/points?limit=" + PAGE_LIMIT));
+    measure.run("GET /api/streams/{id}/branches/{branchNum}/points", SAMPLES,
+        i -> client.get(base + "/branches/" + random.nextInt(stream.branches()) + "/points"));
+    measure.run("GET /api/streams/{id}/branches/{branchNum}/points?limit", SAMPLES,
+        i -> client.get(base + "/branches/" + random.nextInt(stream.branches()) + "/points?limit=" + PAGE_LIMIT));
+    measure.run("GET /api/points/{id}/ancestors", SAMPLES,
+        i -> client.get("/api/points/" + randomPoint(points, random) + "/ancestors"));
+    measure.run("GET /api/streams/{id}/export?view=path", Math.max(1, SAMPLES / 10),
+        i -> client.get(base + "/export?view=path"));
+    measure.run("GET /api/streams/{id}/export?view=tree", Math.max(1, SAMPLES / 10),
+        i -> client.get(base + "/export?view=tree"));
+
+    measure.run("POST /api/points/{id}/down", SAMPLES,
+        i -> client.post("/api/points/" + randomPoint(points, random) + "/down", "{\"itemId\":\"item\"}"));
+    String batch = "{\"itemIds\":[" + String.join(",", IntStream.range(0, BATCH_SIZE).mapToObj(i -> "\"item\"").toList())
+        + "]}";
+    measure.run("POST /api/points/{id}/down/batch", SAMPLES,
+        i -> client.post("/api/points/" + randomPoint(points, random) + "/down/batch", batch));
+    List<Long> created = new ArrayList<>();
+    measure.run("POST /api/streams", SAMPLES,
+        i -> created.add(client.readTree(client.post("/api/streams", "")).get("id").asLong()));
+    measure.run("DELETE /api/streams/{id}", SAMPLES, i -> client.delete("/api/streams/" + created.get(i)));
+
+    return new ProfileResult(profile, shape, operations);
+  }
+
+  @AfterAll
+  void writeReport() throws IOException {
+    client.close();
+    Path path = Path.of(System.getProperty("benchmark.report", "build/reports/benchmark/stream-scaling.json"));
+    Files.createDirectories(path.toAbsolutePath().getParent());
+    Report report = new Report(Instant.now(), database(), settings(), SAMPLES, results);
+    objectMapper.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), report);
+    log.info("[benchmark] report: {}", path.toAbsolutePath());
+  }
+
+  /**
+   * 워밍업 후 요청을 순서대로 보내 지연 시간 분포를 측정합니다.
+   *
+   * @param samples 측정 횟수 (워밍업은 별도로 1/10)
+   * @param request 요청 하나를 보내는 작업 (인자는 워밍업을 포함한 호출 순번)
+   */
+  private static LatencyStats measure(int samples, IntConsumer request) {
+    int warmup = Math.max(1, samples / 10);
+    for (int i = 0; i < warmup; i++) {
+      request.accept(i);
+    }
+    long[] latencies = new long[samples];
+    long start = System.nanoTime();
+    for (int i = 0; i < samples; i++) {
+      long requestStart = System.nanoTime();
+      request.accept(warmup + i);
+      latencies[i] = System.nanoTime() - requestStart;
+    }
+    return LatencyStats.of(latencies, System.nanoTime() - start);
+  }
+
+  private static Long randomPoint(List<PointDto.Response> points, Random random) {
+    return points.get(random.nextInt(points.size())).id();
+  }
+
+  private String database() {
+    return jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+        connection.getMetaData().getDatabaseProductName() + " " + connection.getMetaData().getDatabaseProductVersion());
+  }
+
+  private Map<String, Object> settings() {
+    Map<String, Object> settings = new LinkedHashMap<>();
+    settings.put("pathQueryMode", properties.pathQuery().mode());
+    settings.put("intArrayFormat", properties.storage().intArrayFormat());
+    settings.put("ancestorCacheEnabled", properties.cache().ancestorsEnabled());
+    settings.put("writeQueueEnabled", properties.writeQueue().enabled());
+    settings.put("virtualThreadsEnabled", environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false));
+    return settings;
+  }
+
+  @FunctionalInterface
+  private interface Measure {
+    void run(String name, int samples, IntConsumer request);
+  }
+
+  /**
+   * JSON 리포트
+   *
+   * @param createdAt 측정 시각
+   * @param database  DB 제품/버전
+   * @param settings  측정에 영향을 주는 주요 설정
+   * @param samples   엔드포인트별 측정 횟수
+   * @param profiles  스트림 모양별 결과
+   */
+  record Report(Instant createdAt, String database, Map<String, Object> settings, int samples,
+      List<ProfileResult> profiles) {
+  }
+
+  /**
+   * 스트림 모양별 결과
+   *
+   * @param profile    스트림 모양
+   * @param stream     생성된 스트림
+   * @param operations 엔드포인트별 지연 시간 분포
+   */
+  record ProfileResult(StreamGenerator.Profile profile, StreamShape stream, Map<String, LatencyStats> operations) {
+  }
+
+  /**
+   * 생성된 스트림의 실제 모양과 생성(pointDownBatch) 처리량
+   *
+   * @param points                  루트를 제외한 포인트 수
+   * @param branches                브랜치 수
+   * @param maxDepth                최대 depth
+   * @param generateMillis          생성에 걸린 시간 (ms)
+   * @param generatePointsPerSecond 생성 중 초당 추가한 포인트 수
+   */
+  record StreamShape(int points, int branches, int maxDepth, long generateMillis, double generatePointsPerSecond) {
+
+    static StreamShape of(StreamGenerator.GeneratedStream stream) {
+      double seconds = stream.elapsedNanos() / 1_000_000_000.0;
+      return new StreamShape(stream.points().size(), stream.branches(), stream.maxDepth(),
+          stream.elapsedNanos() / 1_000_000, Math.round(stream.points().size() / seconds * 10) / 10.0);
+    }
+  }
+}
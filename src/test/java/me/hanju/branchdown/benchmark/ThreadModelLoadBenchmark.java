@@ -0,0 +1,168 @@
+package me.hanju.branchdown.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+import me.hanju.branchdown.BenchmarkTestBase;
+import me.hanju.branchdown.repository.StreamRepository;
+import me.hanju.branchdown.service.PointService;
+import me.hanju.branchdown.service.StreamService;
+
+/**
+ * 요청 처리 스레드 모델(플랫폼/가상 스레드)별 HTTP 부하 테스트
+ *
+ * <pre>
+ * ./gradlew benchmark --tests '*ThreadModelLoadBenchmark*'
+ * </pre>
+ *
+ * <p>실제 포트로 띄운 서버에 동시 클라이언트(기본 256, -Dbenchmark.clients로 변경)가
+ * 요청(기본 총 10,000개, -Dbenchmark.requests로 변경)을 보내고, 초당 요청 수와 p50/p99 지연 시간을
+ * {@code [benchmark]} 로그로 비교합니다. 클라이언트는 플랫폼 스레드에서 실행하며, 서버의 가상 스레드가
+ * 캐리어 스레드에 고정된 채 블로킹되면(pinning) {@code jdk.tracePinnedThreads}에 의해 스택이 출력됩니다.</p>
+ *
+ * <p>기본으로 띄우는 로컬 MariaDB 컨테이너는 네트워크 지연이 거의 없어 차이가 작게 나옵니다. 운영과 비슷한 MariaDB로
+ * 실행하려면 {@code SPRING_DATASOURCE_URL} 등을 지정하고({@link me.hanju.branchdown.BenchmarkTestBase} 참조),
+ * 커넥션 풀 크기({@code DB_POOL_SIZE})에 따른 변화도 함께 확인합니다.</p>
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+abstract class ThreadModelLoadBenchmark extends BenchmarkTestBase {
+
+  private static final int CLIENTS = Integer.getInteger("benchmark.clients", 256);
+  private static final int REQUESTS = Integer.getInteger("benchmark.requests", 10_000);
+  private static final int STREAM_POINTS = 100;
+
+  @LocalServerPort
+  private int port;
+
+  @Autowired
+  private StreamService streamService;
+
+  @Autowired
+  private PointService pointService;
+
+  @Autowired
+  private StreamRepository streamRepository;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  private BenchmarkHttpClient client;
+
+  @BeforeEach
+  void setUp() {
+    client = new BenchmarkHttpClient(port, objectMapper);
+  }
+
+  @AfterEach
+  void tearDown() {
+    client.close();
+  }
+
+  @Test
+  @DisplayName("pointDown: 클라이언트마다 자신의 스트림 끝에 추가")
+  void pointDown() throws Exception {
+    long[] leafIds = new long[CLIENTS];
+    for (int c = 0; c < CLIENTS; c++) {
+      leafIds[c] = rootPointId(streamService.createStream().id());
+    }
+
+    measureLoad("pointDown", c -> leafIds[c] = client.readTree(
+        client.post("/api/points/" + leafIds[c] + "/down", "{\"itemId\":\"item\"}")).get("id").asLong());
+  }
+
+  @Test
+  @DisplayName("getStreamPoints: 같은 스트림의 포인트 목록 조회")
+  void getStreamPoints() throws Exception {
+    Long streamId = streamService.createStream().id();
+    pointService.pointDownBatch(rootPointId(streamId),
+        IntStream.range(0, STREAM_POINTS).mapToObj(i -> "item-" + i).toList());
+    String path = "/api/streams/" + streamId + "/points";
+
+    measureLoad("getStreamPoints(" + STREAM_POINTS + " points)", c -> client.get(path));
+  }
+
+  /**
+   * 모든 클라이언트가 워밍업 후 함께 시작하여 요청을 보내고, 처리량과 지연 시간 분포를 로그로 출력합니다.
+   *
+   * @param name    측정 이름
+   * @param request 요청 하나를 보내고 응답을 처리하는 작업 (인자는 클라이언트 번호)
+   */
+  private void measureLoad(String name, IntConsumer request) throws Exception {
+    int perClient = Math.max(1, REQUESTS / CLIENTS);
+    int warmup = Math.max(1, perClient / 10);
+    long[] latencies = new long[CLIENTS * perClient];
+
+    ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+    CyclicBarrier barrier = new CyclicBarrier(CLIENTS + 1);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int c = 0; c < CLIENTS; c++) {
+        int clientNum = c;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < warmup; i++) {
+            request.accept(clientNum);
+          }
+          barrier.await();
+          for (int i = 0; i < perClient; i++) {
+            long start = System.nanoTime();
+            request.accept(clientNum);
+            latencies[clientNum * perClient + i] = System.nanoTime() - start;
+          }
+          return null;
+        }));
+      }
+      barrier.await();
+      long start = System.nanoTime();
+      for (Future<?> future : futures) {
+        future.get();
+      }
+      long elapsed = System.nanoTime() - start;
+
+      LatencyStats stats = LatencyStats.of(latencies, elapsed);
+      log.info("[benchmark] {} ({}): {} clients x {} requests in {} ms, {}",
+          name, getClass().getSimpleName(), CLIENTS, perClient, elapsed / 1_000_000, stats);
+      assertThat(stats.opsPerSecond()).isPositive();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private long rootPointId(Long streamId) {
+    return transactionTemplate.execute(status -> streamRepository.findById(streamId).orElseThrow()
+        .getBranches().get(0).getPoints().get(0).getId());
+  }
+
+  /** Tomcat 플랫폼 스레드 풀 (기본 설정, 최대 200개) */
+  static class Platform extends ThreadModelLoadBenchmark {
+  }
+
+  /** 요청마다 가상 스레드 */
+  @TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+  static class Virtual extends ThreadModelLoadBenchmark {
+  }
+}
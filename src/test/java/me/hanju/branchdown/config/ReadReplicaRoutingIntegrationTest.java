@@ -0,0 +1,293 @@
+package me.hanju.branchdown.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.StringJoiner;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import liquibase.integration.spring.SpringLiquibase;
+import me.hanju.branchdown.IntegrationTestBase;
+import me.hanju.branchdown.dto.PointDto;
+import me.hanju.branchdown.service.AncestorCache;
+import me.hanju.branchdown.service.PointService;
+import me.hanju.branchdown.service.StreamService;
+
+/**
+ * 읽기 전용 복제본 라우팅 통합 테스트
+ *
+ * <p>복제본으로 두 개의 H2 인메모리 DB를 사용합니다. 복제가 일어나지 않으므로 기본 DataSource에서 만든 스트림은
+ * 복제본에서 조회되지 않고, 복제본 하나에만 직접 넣은 행으로 어느 복제본에서 읽었는지 구분합니다.
+ * 커밋된 데이터를 다른 커넥션에서 읽어야 하므로 테스트 트랜잭션을 사용하지 않습니다.
+ * 복제 지연은 기본 DataSource의 행을 두 복제본에 직접 복사하는 시점으로 흉내 냅니다.</p>
+ */
+@DisplayName("읽기 전용 복제본 라우팅 통합 테스트")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK)
+@AutoConfigureMockMvc
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+    "branchdown.read-replica.urls=" + ReadReplicaRoutingIntegrationTest.REPLICA_A + "," + ReadReplicaRoutingIntegrationTest.REPLICA_B,
+    "branchdown.read-replica.username=sa",
+    "branchdown.read-replica.password=",
+    "branchdown.read-replica.read-your-writes-window=1m",
+    "branchdown.cache.ancestors-enabled=true" })
+abstract class ReadReplicaRoutingIntegrationTest extends IntegrationTestBase {
+
+  static final String REPLICA_A = "jdbc:h2:mem:replica-a;DB_CLOSE_DELAY=-1";
+  static final String REPLICA_B = "jdbc:h2:mem:replica-b;DB_CLOSE_DELAY=-1";
+
+  @Autowired
+  private StreamService streamService;
+
+  @Autowired
+  private PointService pointService;
+
+  @Autowired
+  private AncestorCache ancestorCache;
+
+  @Autowired
+  private DataSource dataSource;
+
+  /** 트랜잭션 밖의 조회이므로 기본 DataSource를 사용 */
+  @Autowired
+  private JdbcTemplate primary;
+
+  @Autowired
+  private LiquibaseProperties liquibaseProperties;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  /** 복제본 A에만 있는 행 */
+  protected JdbcTemplate replicaA;
+
+  private JdbcTemplate replicaB;
+
+  private final List<Long> createdStreamIds = new ArrayList<>();
+
+  @BeforeEach
+  void migrateReplicas() throws Exception {
+    replicaA = new JdbcTemplate(migrate(REPLICA_A));
+    replicaB = new JdbcTemplate(migrate(REPLICA_B));
+  }
+
+  @AfterEach
+  void tearDown() {
+    createdStreamIds.forEach(id -> {
+      if (primary.queryForObject("SELECT COUNT(*) FROM streams WHERE stream_id = ?", Integer.class, id) > 0) {
+        streamService.deleteStream(id);
+      }
+      for (JdbcTemplate replica : List.of(replicaA, replicaB)) {
+        for (String table : List.of("points", "branches", "streams")) {
+          replica.update("DELETE FROM " + table + " WHERE stream_id = ?", id);
+        }
+      }
+    });
+  }
+
+  /** 복제본 스키마는 기본 DataSource와 같은 Liquibase 변경으로 만든다 (이미 적용된 변경은 건너뜀) */
+  private DataSource migrate(String url) throws Exception {
+    DataSource replica = new DriverManagerDataSource(url, "sa", "");
+    SpringLiquibase migration = new SpringLiquibase();
+    migration.setDataSource(replica);
+    migration.setChangeLog(liquibaseProperties.getChangeLog());
+    migration.setChangeLogParameters(liquibaseProperties.getParameters());
+    migration.setResourceLoader(new DefaultResourceLoader());
+    migration.afterPropertiesSet();
+    return replica;
+  }
+
+  /** 기본 DataSource에 만들고 복제본 A에만 복제한 스트림 */
+  protected Long createStreamOnPrimaryAndReplicaA() {
+    Long id = createStreamOnPrimary();
+    replicaA.update("INSERT INTO streams (stream_id, next_branch_num) VALUES (?, 1)", id);
+    return id;
+  }
+
+  protected Long createStreamOnPrimary() {
+    Long id = streamService.createStream().id();
+    createdStreamIds.add(id);
+    return id;
+  }
+
+  /** 기본 DataSource에 있는 스트림의 현재 행으로 두 복제본을 맞춘다 (복제 지연 해소) */
+  protected void replicate(Long streamId) {
+    for (JdbcTemplate replica : List.of(replicaA, replicaB)) {
+      for (String table : List.of("points", "branches", "streams")) {
+        replica.update("DELETE FROM " + table + " WHERE stream_id = ?", streamId);
+      }
+      for (String table : List.of("streams", "branches", "points")) {
+        for (Map<String, Object> row : primary.queryForList("SELECT * FROM " + table + " WHERE stream_id = ?", streamId)) {
+          StringJoiner columns = new StringJoiner(", ");
+          StringJoiner values = new StringJoiner(", ");
+          row.keySet().forEach(column -> {
+            columns.add(column);
+            values.add("?");
+          });
+          replica.update("INSERT INTO " + table + " (" + columns + ") VALUES (" + values + ")", row.values().toArray());
+        }
+      }
+    }
+  }
+
+  /** 읽기 전용 트랜잭션으로 스트림을 조회하여 찾았는지 여부 */
+  protected boolean found(Long streamId) {
+    try {
+      streamService.getStream(streamId);
+      return true;
+    } catch (NoSuchElementException e) {
+      return false;
+    }
+  }
+
+  /** 복제본 커넥션을 하나 빌려 사용 중으로 만든다 */
+  protected Connection holdReplicaConnection(int index) throws Exception {
+    return ((ReplicaRoutingDataSource) dataSource).getReplicas().get(index).getConnection();
+  }
+
+  @Test
+  @DisplayName("읽기 전용 트랜잭션은 복제본에서, 쓰기 트랜잭션은 기본 DataSource에서 처리된다")
+  void routesReadOnlyTransactionsToReplicas() {
+    Long streamId = createStreamOnPrimary();
+
+    assertThat(dataSource).isInstanceOf(ReplicaRoutingDataSource.class);
+    assertThatThrownBy(() -> streamService.getStream(streamId)).isInstanceOf(NoSuchElementException.class);
+  }
+
+  @Test
+  @DisplayName("ReadYourWrites로 표시된 스레드의 조회는 기본 DataSource에서 처리된다")
+  void pinnedReadsGoToPrimary() {
+    Long streamId = createStreamOnPrimary();
+
+    ReadYourWrites.pin();
+    try {
+      assertThat(streamService.getStream(streamId).id()).isEqualTo(streamId);
+    } finally {
+      ReadYourWrites.clear();
+    }
+    assertThat(found(streamId)).isFalse();
+  }
+
+  @Test
+  @DisplayName("쓰기 응답의 X-Last-Write-At 헤더를 되돌려 보낸 조회는 창 안에서만 기본 DataSource에서 처리된다")
+  void readYourWritesHeader() throws Exception {
+    MockHttpServletResponse created = mockMvc.perform(post("/api/streams"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse();
+    Long streamId = objectMapper.readTree(created.getContentAsString()).get("id").asLong();
+    createdStreamIds.add(streamId);
+    String lastWriteAt = created.getHeader(ReadYourWritesFilter.HEADER);
+    assertThat(lastWriteAt).isNotNull();
+
+    mockMvc.perform(get("/api/streams/" + streamId).header(ReadYourWritesFilter.HEADER, lastWriteAt))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist(ReadYourWritesFilter.HEADER));
+    mockMvc.perform(get("/api/streams/" + streamId))
+        .andExpect(status().isNotFound());
+    mockMvc.perform(get("/api/streams/" + streamId)
+        .header(ReadYourWritesFilter.HEADER, System.currentTimeMillis() - 120_000))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  @DisplayName("복제본에서 읽은 조상 목록은 캐시하지 않아, 복제가 따라잡은 뒤에는 이미 커밋된 분기가 보인다")
+  void doesNotCacheStaleAncestorsFromReplica() {
+    Long streamId = createStreamOnPrimary();
+    replicate(streamId);
+    Long rootPointId = streamService.getStreamPoints(streamId).getFirst().id();
+    List<PointDto.Response> chain = pointService.pointDownBatch(rootPointId, List.of("a", "b"));
+    replicate(streamId);
+    // 쓰기로 캐시된 목록을 지운 뒤(다른 인스턴스에서 쓴 것처럼), 복제본에 반영되기 전에 기본 DataSource에서 a로부터 분기
+    ancestorCache.evictStreamAfterCommit(streamId);
+    PointDto.Response fork = pointService.pointDown(chain.get(0).id(), "fork");
+
+    assertThat(pointService.getAncestors(chain.get(1).id()).getFirst().childBranchNums()).containsExactly(0);
+
+    replicate(streamId);
+    assertThat(pointService.getAncestors(chain.get(1).id()).getFirst().childBranchNums())
+        .containsExactly(0, fork.branchNum());
+  }
+
+  @Test
+  @DisplayName("삭제된 스트림의 경로를 지연된 복제본에서 읽어도 캐시하지 않아, 복제가 따라잡은 뒤에는 404가 된다")
+  void doesNotCachePathsOfDeletedStreamsFromReplica() {
+    Long streamId = createStreamOnPrimary();
+    replicate(streamId);
+    // 기본 DataSource에서 삭제하고 캐시를 지운 뒤, 아직 삭제가 반영되지 않은 복제본에서 조회
+    streamService.deleteStream(streamId);
+
+    assertThat(streamService.getBranchMessages(streamId, 0, -1)).singleElement();
+
+    replicate(streamId);
+    assertThatThrownBy(() -> streamService.getBranchMessages(streamId, 0, -1))
+        .isInstanceOf(NoSuchElementException.class);
+  }
+
+  @DisplayName("round-robin")
+  @TestPropertySource(properties = "branchdown.read-replica.selection=round-robin")
+  static class RoundRobin extends ReadReplicaRoutingIntegrationTest {
+
+    @Test
+    @DisplayName("복제본을 차례대로 사용한다")
+    void alternatesReplicas() {
+      Long streamId = createStreamOnPrimaryAndReplicaA();
+
+      List<Boolean> results = IntStream.range(0, 4).mapToObj(i -> found(streamId)).toList();
+
+      assertThat(results.get(0)).isNotEqualTo(results.get(1));
+      assertThat(results.get(1)).isNotEqualTo(results.get(2));
+      assertThat(results.get(2)).isNotEqualTo(results.get(3));
+    }
+  }
+
+  @DisplayName("least-loaded")
+  @TestPropertySource(properties = "branchdown.read-replica.selection=least-loaded")
+  static class LeastLoaded extends ReadReplicaRoutingIntegrationTest {
+
+    @Test
+    @DisplayName("사용 중인 커넥션이 적은 복제본을 사용한다")
+    void prefersIdleReplica() throws Exception {
+      Long streamId = createStreamOnPrimaryAndReplicaA();
+
+      try (Connection busy = holdReplicaConnection(0)) {
+        assertThat(IntStream.range(0, 4).mapToObj(i -> found(streamId))).containsOnly(false);
+      }
+      try (Connection busy = holdReplicaConnection(1)) {
+        assertThat(IntStream.range(0, 4).mapToObj(i -> found(streamId))).containsOnly(true);
+      }
+    }
+  }
+}
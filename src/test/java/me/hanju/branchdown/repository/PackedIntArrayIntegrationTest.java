@@ -0,0 +1,112 @@
+package me.hanju.branchdown.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import jakarta.persistence.EntityManager;
+import me.hanju.branchdown.IntegrationTestBase;
+import me.hanju.branchdown.dto.PointDto;
+import me.hanju.branchdown.service.PointService;
+import me.hanju.branchdown.service.StreamService;
+import me.hanju.branchdown.util.VarInts;
+
+/**
+ * packed 저장 형식 통합 테스트
+ *
+ * <p>Liquibase 변경(0005)으로 바이트 배열 컬럼이 된 branches.path, points.child_branch_nums에
+ * varint로 저장되고, 엔티티 조회와 DTO 프로젝션 조회가 같은 값을 읽는지 확인합니다.</p>
+ */
+@DisplayName("packed 저장 형식 통합 테스트")
+@TestPropertySource(properties = "branchdown.storage.int-array-format=packed")
+class PackedIntArrayIntegrationTest extends IntegrationTestBase {
+
+  @Autowired
+  private StreamService streamService;
+
+  @Autowired
+  private PointService pointService;
+
+  @Autowired
+  private StreamRepository streamRepository;
+
+  @Autowired
+  private PointRepository pointRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  private Long streamId;
+  private Long rootPointId;
+  private PointDto.Response a;
+  private PointDto.Response deep;
+
+  /** root - a - a2 에서 root와 a에서 각각 분기하고, 분기한 브랜치에서 다시 분기한다. */
+  @BeforeEach
+  void setUp() {
+    streamId = streamService.createStream().id();
+    rootPointId = streamRepository.findById(streamId).orElseThrow()
+        .getBranches().get(0).getPoints().get(0).getId();
+    a = pointService.pointDown(rootPointId, "a");
+    pointService.pointDown(a.id(), "a2");
+    pointService.pointDown(rootPointId, "b");
+    PointDto.Response c = pointService.pointDown(a.id(), "c");
+    pointService.pointDown(c.id(), "c2");
+    deep = pointService.pointDown(c.id(), "d");
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  @Test
+  @DisplayName("int 배열 컬럼에 varint 바이트 배열이 저장된다")
+  void storesVarints() {
+    byte[] childBranchNums = jdbcTemplate.queryForObject(
+        "SELECT child_branch_nums FROM points WHERE point_id = ?", byte[].class, a.id());
+    byte[] path = jdbcTemplate.queryForObject(
+        "SELECT path FROM branches WHERE stream_id = ? AND branch_num = ?", byte[].class, streamId, deep.branchNum());
+
+    assertThat(childBranchNums).isEqualTo(VarInts.encode(new int[] { 0, 2 }));
+    assertThat(path).isEqualTo(VarInts.encode(new int[] { 0, 2 }));
+  }
+
+  @Test
+  @DisplayName("엔티티와 DTO 프로젝션이 같은 childBranchNums를 읽는다")
+  void readsSameValues() {
+    List<PointDto.Response> ancestors = pointService.getAncestors(deep.id());
+
+    assertThat(ancestors).extracting(PointDto.Response::itemId).containsExactly("a", "c", "d");
+    assertThat(ancestors.get(0).childBranchNums()).containsExactly(0, 2);
+    assertThat(ancestors.get(1).childBranchNums()).containsExactly(2, 3);
+    for (PointDto.Response ancestor : ancestors) {
+      assertThat(pointRepository.findById(ancestor.id()).orElseThrow().getChildBranchNums())
+          .containsExactly(ancestor.childBranchNums());
+    }
+  }
+
+  @Test
+  @DisplayName("분기한 브랜치의 경로를 packed 컬럼에서 읽어 조회한다")
+  void readsPackedPath() {
+    assertThat(streamService.getBranchMessages(streamId, deep.branchNum(), -1))
+        .extracting(PointDto.Response::itemId)
+        .containsExactly(null, "a", "c", "d");
+  }
+
+  @Test
+  @DisplayName("packed 컬럼의 바이트 범위로 하위 브랜치를 찾아 하위 포인트를 조회한다")
+  void readsPackedDescendants() {
+    assertThat(pointService.getDescendants(a.id(), null, 100))
+        .extracting(PointDto.Response::itemId)
+        .containsExactly("a2", "c", "c2", "d");
+    assertThat(pointService.countDescendants(rootPointId, null)).isEqualTo(6);
+  }
+}
@@ -0,0 +1,130 @@
+package me.hanju.branchdown.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import jakarta.persistence.EntityManager;
+import me.hanju.branchdown.IntegrationTestBase;
+import me.hanju.branchdown.repository.PointRepositoryCustom.DepthRange;
+import me.hanju.branchdown.service.PointService;
+import me.hanju.branchdown.service.StreamService;
+
+/**
+ * 경로 조회 쿼리의 실행 계획이 points 복합 인덱스를 사용하는지 EXPLAIN으로 확인하는 테스트
+ *
+ * <p>H2, PostgreSQL, MariaDB/MySQL의 EXPLAIN 결과를 각각 해석합니다.</p>
+ */
+@DisplayName("PointRepository 인덱스 통합 테스트")
+class PointRepositoryIndexIntegrationTest extends IntegrationTestBase {
+
+  private static final String PATH_INDEX = "idx_points_stream_branch_depth";
+
+  @Autowired
+  private StreamService streamService;
+
+  @Autowired
+  private PointService pointService;
+
+  @Autowired
+  private StreamRepository streamRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  private Long streamId;
+
+  @BeforeEach
+  void setUp() {
+    streamId = streamService.createStream().id();
+    Long rootId = streamRepository.findById(streamId).orElseThrow()
+        .getBranches().get(0).getPoints().get(0).getId();
+    for (int i = 0; i < 10; i++) {
+      pointService.pointDownBatch(rootId, List.of("a" + i, "b" + i, "c" + i, "d" + i, "e" + i));
+    }
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  @Test
+  @DisplayName("findAllUsingPath는 (stream_id, branch_num, depth) 인덱스를 사용한다")
+  void findAllUsingPathUsesIndex() throws Exception {
+    String sql = nativeQuery("findAllUsingPath");
+
+    assertThat(explain(sql, 3)).containsIgnoringCase(PATH_INDEX);
+  }
+
+  @Test
+  @DisplayName("findPathUsingWindow는 (stream_id, branch_num, depth) 인덱스를 사용한다")
+  void findPathUsingWindowUsesIndex() throws Exception {
+    String sql = nativeQuery("findPathUsingWindow");
+
+    assertThat(explain(sql, 3)).containsIgnoringCase(PATH_INDEX);
+  }
+
+  @Test
+  @DisplayName("findAncestorsUsingPath는 (stream_id, branch_num, depth) 인덱스를 사용한다")
+  void findAncestorsUsingPathUsesIndex() throws Exception {
+    String sql = nativeQuery("findAncestorsUsingPath");
+
+    assertThat(explain(sql, 3)).containsIgnoringCase(PATH_INDEX);
+  }
+
+  @Test
+  @DisplayName("findResponsesInRanges의 구간별 조회는 (stream_id, branch_num, depth) 인덱스를 사용한다")
+  void findResponsesInRangesUsesIndex() {
+    List<Object> values = List.of(streamId, 0, -1, 2, streamId, 1, 2);
+    String sql = PointRepositoryCustomImpl.rangeQuery(List.of(
+        new DepthRange(0, -1, 2), new DepthRange(1, 2, Integer.MAX_VALUE)));
+    for (int i = values.size(); i >= 1; i--) {
+      sql = sql.replace("?" + i, String.valueOf(values.get(i - 1)));
+    }
+
+    assertThat(explain(sql, 0)).containsIgnoringCase(PATH_INDEX);
+  }
+
+  /** PointRepository에 선언된 네이티브 쿼리 원문 */
+  private static String nativeQuery(String methodName) throws NoSuchMethodException {
+    return PointRepository.class.getMethod(methodName, Long.class, List.class, int.class)
+        .getAnnotation(Query.class).value();
+  }
+
+  /**
+   * 파라미터를 리터럴로 치환한 쿼리의 실행 계획을 문자열로 반환합니다.
+   * MariaDB/MySQL은 실제로 선택된 인덱스(key 컬럼)만, 그 외에는 계획 전문을 반환합니다.
+   */
+  private String explain(String sql, int depth) {
+    String bound = sql
+        .replace(":streamId", String.valueOf(streamId))
+        .replace(":branchNums", "(0, 1, 2)")
+        .replace(":depth", String.valueOf(depth));
+    String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+        connection.getMetaData().getDatabaseProductName()).toLowerCase(Locale.ROOT);
+
+    if (product.contains("mariadb") || product.contains("mysql")) {
+      return jdbcTemplate.queryForList("EXPLAIN " + bound).stream()
+          .map(row -> String.valueOf(row.get("key")))
+          .toList().toString();
+    }
+    if (product.contains("postgresql")) {
+      // 테스트 데이터가 작아 순차 스캔이 더 싸게 평가되므로 인덱스 사용 가능 여부만 확인
+      jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+    }
+    return jdbcTemplate.queryForList("EXPLAIN " + bound).stream()
+        .map(Map::values)
+        .toList().toString();
+  }
+}
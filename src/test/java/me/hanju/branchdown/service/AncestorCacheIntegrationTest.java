@@ -0,0 +1,140 @@
+package me.hanju.branchdown.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import me.hanju.branchdown.IntegrationTestBase;
+import me.hanju.branchdown.config.BranchdownProperties.PathQueryMode;
+import me.hanju.branchdown.dto.PointDto;
+import me.hanju.branchdown.repository.StreamRepository;
+
+/**
+ * 조상 목록 캐시 통합 테스트
+ *
+ * <p>캐시는 커밋 후에 갱신되므로 테스트 트랜잭션을 사용하지 않고,
+ * 생성한 스트림은 테스트 종료 후 직접 삭제합니다.</p>
+ */
+@DisplayName("AncestorCache 통합 테스트")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "branchdown.cache.ancestors-enabled=true")
+class AncestorCacheIntegrationTest extends IntegrationTestBase {
+
+  @Autowired
+  private PointService pointService;
+
+  @Autowired
+  private StreamService streamService;
+
+  @Autowired
+  private StreamRepository streamRepository;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  private Long streamId;
+  private Long rootPointId;
+
+  @BeforeEach
+  void setUp() {
+    streamId = streamService.createStream().id();
+    rootPointId = transactionTemplate.execute(status -> streamRepository.findById(streamId).orElseThrow()
+        .getBranches().get(0).getPoints().get(0).getId());
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (streamRepository.existsById(streamId)) {
+      streamService.deleteStream(streamId);
+    }
+  }
+
+  @Test
+  @DisplayName("pointDown으로 이어 붙인 포인트의 조상 목록은 DB를 읽지 않고 캐시에서 반환한다")
+  void extendsOnPointDown() {
+    PointDto.Response a = pointService.pointDown(rootPointId, "a");
+    pointService.getAncestors(a.id());
+    List<PointDto.Response> chain = pointService.pointDownBatch(a.id(), List.of("b", "c"));
+    double hits = hitCount();
+
+    List<PointDto.Response> ancestors = pointService.getAncestors(chain.get(1).id());
+
+    assertThat(hitCount()).isGreaterThan(hits);
+    assertThat(ancestors).extracting(PointDto.Response::itemId).containsExactly("a", "b", "c");
+    assertSameAsDatabase(chain.get(1).id(), ancestors);
+  }
+
+  @Test
+  @DisplayName("조상에서 분기하면 캐시된 목록의 childBranchNums도 갱신된다")
+  void updatesChildBranchNumsOnFork() {
+    PointDto.Response a = pointService.pointDown(rootPointId, "a");
+    PointDto.Response b = pointService.pointDown(a.id(), "b");
+    pointService.getAncestors(b.id());
+
+    PointDto.Response fork = pointService.pointDown(a.id(), "fork");
+
+    List<PointDto.Response> ancestors = pointService.getAncestors(b.id());
+    assertThat(ancestors.get(0).childBranchNums()).containsExactly(0, fork.branchNum());
+    assertSameAsDatabase(b.id(), ancestors);
+  }
+
+  @Test
+  @DisplayName("무작위로 분기한 스트림에서 캐시된 조상 목록이 DB 조회 결과와 같다")
+  void sameAsDatabase() {
+    Random random = new Random(7);
+    List<PointDto.Response> points = new ArrayList<>();
+    points.add(pointService.pointDown(rootPointId, "0"));
+    for (int i = 1; i < 40; i++) {
+      PointDto.Response parent = random.nextInt(3) == 0
+          ? points.get(random.nextInt(points.size()))
+          : points.getLast();
+      points.add(pointService.pointDown(parent.id(), String.valueOf(i)));
+      pointService.getAncestors(points.get(random.nextInt(points.size())).id());
+    }
+
+    for (PointDto.Response point : points) {
+      assertSameAsDatabase(point.id(), pointService.getAncestors(point.id()));
+    }
+  }
+
+  @Test
+  @DisplayName("스트림을 삭제하면 캐시된 조상 목록도 제거된다")
+  void evictsOnDelete() {
+    PointDto.Response a = pointService.pointDown(rootPointId, "a");
+    pointService.getAncestors(a.id());
+
+    streamService.deleteStream(streamId);
+
+    assertThatThrownBy(() -> pointService.getAncestors(a.id()))
+        .isInstanceOf(NoSuchElementException.class);
+  }
+
+  private void assertSameAsDatabase(Long pointId, List<PointDto.Response> ancestors) {
+    assertThat(ancestors).as("point=%d", pointId)
+        .usingRecursiveFieldByFieldElementComparator()
+        .containsExactlyElementsOf(pointService.getAncestors(pointId, PathQueryMode.RANGE));
+  }
+
+  private double hitCount() {
+    return meterRegistry.get("cache.gets").tag("cache", "ancestors").tag("result", "hit")
+        .functionCounter().count();
+  }
+}
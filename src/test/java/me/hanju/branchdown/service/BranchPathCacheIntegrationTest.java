@@ -0,0 +1,113 @@
+package me.hanju.branchdown.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import me.hanju.branchdown.IntegrationTestBase;
+import me.hanju.branchdown.dto.PointDto;
+import me.hanju.branchdown.entity.id.BranchId;
+import me.hanju.branchdown.repository.BranchRepository;
+import me.hanju.branchdown.repository.StreamRepository;
+
+/**
+ * 브랜치 경로 캐시 통합 테스트
+ *
+ * <p>캐시는 커밋 후에 갱신되므로 테스트 트랜잭션을 사용하지 않고,
+ * 생성한 스트림은 테스트 종료 후 직접 삭제합니다.</p>
+ */
+@DisplayName("BranchPathCache 통합 테스트")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BranchPathCacheIntegrationTest extends IntegrationTestBase {
+
+  @Autowired
+  private BranchPathCache branchPathCache;
+
+  @Autowired
+  private StreamService streamService;
+
+  @Autowired
+  private PointService pointService;
+
+  @Autowired
+  private StreamRepository streamRepository;
+
+  @Autowired
+  private BranchRepository branchRepository;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  private Long streamId;
+  private Long rootPointId;
+
+  @BeforeEach
+  void setUp() {
+    streamId = streamService.createStream().id();
+    rootPointId = transactionTemplate.execute(status -> streamRepository.findById(streamId).orElseThrow()
+        .getBranches().get(0).getPoints().get(0).getId());
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (streamRepository.existsById(streamId)) {
+      streamService.deleteStream(streamId);
+    }
+  }
+
+  @Test
+  @DisplayName("분기가 커밋되면 새 브랜치의 경로가 캐시된다")
+  void cachesForkedPath() {
+    PointDto.Response a = pointService.pointDown(rootPointId, "a");
+    pointService.pointDown(a.id(), "a2");
+    PointDto.Response b = pointService.pointDown(a.id(), "b");
+
+    BranchPath cached = branchPathCache.getIfPresent(new BranchId(streamId, b.branchNum()));
+
+    assertThat(cached).isNotNull();
+    assertThat(cached.branchNums()).containsExactly(0, b.branchNum());
+    assertThat(cached.forkDepths()).containsExactly(-1, a.depth());
+    assertThat(branchRepository.findById(new BranchId(streamId, b.branchNum())).orElseThrow().getForkDepth())
+        .isEqualTo(a.depth());
+  }
+
+  @Test
+  @DisplayName("같은 브랜치를 다시 조회하면 캐시 적중 메트릭이 증가한다")
+  void recordsHits() {
+    pointService.pointDown(rootPointId, "a");
+    streamService.getBranchMessages(streamId, 0, 0);
+    double hits = hitCount();
+
+    streamService.getBranchMessages(streamId, 0, 0);
+
+    assertThat(hitCount()).isGreaterThan(hits);
+  }
+
+  @Test
+  @DisplayName("스트림을 삭제하면 해당 스트림의 경로가 캐시에서 제거된다")
+  void evictsOnDelete() {
+    pointService.pointDown(rootPointId, "a");
+    streamService.getBranchMessages(streamId, 0, 0);
+    assertThat(branchPathCache.getIfPresent(new BranchId(streamId, 0))).isNotNull();
+
+    streamService.deleteStream(streamId);
+
+    assertThat(branchPathCache.getIfPresent(new BranchId(streamId, 0))).isNull();
+  }
+
+  private double hitCount() {
+    return meterRegistry.get("cache.gets").tag("cache", "branchPath").tag("result", "hit")
+        .functionCounter().count();
+  }
+}
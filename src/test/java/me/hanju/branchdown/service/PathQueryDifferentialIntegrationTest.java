@@ -0,0 +1,145 @@
+package me.hanju.branchdown.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import jakarta.persistence.EntityManager;
+import me.hanju.branchdown.IntegrationTestBase;
+import me.hanju.branchdown.config.BranchdownProperties.PathQueryMode;
+import me.hanju.branchdown.dto.PointDto;
+import me.hanju.branchdown.entity.BranchEntity;
+import me.hanju.branchdown.repository.PointRepository;
+import me.hanju.branchdown.repository.StreamRepository;
+
+/**
+ * 경로 조회 방식 간 비교 테스트
+ *
+ * <p>무작위로 분기한 스트림의 모든 브랜치에 대해 각 {@link PathQueryMode}의 결과가
+ * 기존 방식({@link PathQueryMode#LEGACY})과 같은지 확인합니다.
+ * 엔티티를 거치지 않는 조회({@link PathQueryMode#RANGE})도 응답의 모든 필드가 같아야 합니다.</p>
+ */
+@DisplayName("경로 조회 방식 비교 테스트")
+class PathQueryDifferentialIntegrationTest extends IntegrationTestBase {
+
+  private static final int OPERATIONS = 60;
+  private static final int DEPTHS_PER_BRANCH = 3;
+
+  @Autowired
+  private StreamService streamService;
+
+  @Autowired
+  private PointService pointService;
+
+  @Autowired
+  private BranchPathService branchPathService;
+
+  @Autowired
+  private StreamRepository streamRepository;
+
+  @Autowired
+  private PointRepository pointRepository;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @ParameterizedTest(name = "seed={0}")
+  @ValueSource(longs = { 1, 2, 3, 4, 5, 6, 7, 8 })
+  @DisplayName("무작위 스트림에서 모든 방식이 같은 경로를 반환한다")
+  void sameResultAsLegacy(long seed) {
+    Random random = new Random(seed);
+    Long streamId = streamService.createStream().id();
+    int maxDepth = grow(streamId, random);
+    entityManager.flush();
+    entityManager.clear();
+
+    List<BranchEntity> branches = entityManager
+        .createQuery("SELECT b FROM BranchEntity b WHERE b.id.streamId = :streamId", BranchEntity.class)
+        .setParameter("streamId", streamId)
+        .getResultList();
+
+    boolean clipped = false;
+    for (BranchEntity branch : branches) {
+      BranchPath path = branchPathService.getPath(branch);
+      List<Integer> depths = new ArrayList<>(List.of(-1));
+      random.ints(DEPTHS_PER_BRANCH, 0, maxDepth + 1).forEach(depths::add);
+
+      for (int depth : depths) {
+        int untilDepth = random.nextBoolean() ? Integer.MAX_VALUE : depth + random.nextInt(maxDepth + 1);
+        List<PointDto.Response> expected = streamService.pathToPoints(
+            "getBranchMessages", streamId, path, depth, untilDepth, PathQueryMode.LEGACY);
+        for (PathQueryMode mode : PathQueryMode.values()) {
+          assertThat(streamService.pathToPoints("getBranchMessages", streamId, path, depth, untilDepth, mode))
+              .as("seed=%d, branch=%d, depth=(%d, %d], mode=%s", seed, branch.getBranchNum(), depth, untilDepth, mode)
+              .usingRecursiveFieldByFieldElementComparator()
+              .containsExactlyElementsOf(expected);
+        }
+        clipped |= pointRepository.findAllUsingPath(streamId, path.branchNumList(), depth).size()
+            > streamService.pathToPoints(
+                "getBranchMessages", streamId, path, depth, Integer.MAX_VALUE, PathQueryMode.LEGACY).size();
+      }
+    }
+
+    // 절삭이 실제로 일어나는 경우가 포함되어야 비교가 의미 있다
+    assertThat(clipped).isTrue();
+  }
+
+  @ParameterizedTest(name = "seed={0}")
+  @ValueSource(longs = { 1, 2, 3, 4 })
+  @DisplayName("무작위 스트림에서 모든 방식이 같은 조상 목록을 반환한다")
+  void sameAncestorsAsLegacy(long seed) {
+    Random random = new Random(seed);
+    Long streamId = streamService.createStream().id();
+    grow(streamId, random);
+    entityManager.flush();
+    entityManager.clear();
+
+    List<Long> pointIds = entityManager
+        .createQuery("SELECT p.id FROM PointEntity p WHERE p.branch.id.streamId = :streamId", Long.class)
+        .setParameter("streamId", streamId)
+        .getResultList();
+
+    for (Long pointId : pointIds) {
+      List<PointDto.Response> expected = pointService.getAncestors(pointId, PathQueryMode.LEGACY);
+      for (PathQueryMode mode : PathQueryMode.values()) {
+        assertThat(pointService.getAncestors(pointId, mode))
+            .as("seed=%d, point=%d, mode=%s", seed, pointId, mode)
+            .usingRecursiveFieldByFieldElementComparator()
+            .containsExactlyElementsOf(expected);
+      }
+    }
+  }
+
+  /**
+   * 최근 포인트 위주로 이어 붙이되 가끔 임의의 포인트에서 분기하여 스트림을 키운다.
+   *
+   * @return 생성된 포인트의 최대 depth
+   */
+  private int grow(Long streamId, Random random) {
+    List<PointDto.Response> points = new ArrayList<>();
+    Long rootId = streamRepository.findById(streamId).orElseThrow()
+        .getBranches().get(0).getPoints().get(0).getId();
+    points.add(pointService.pointDown(rootId, "0"));
+
+    for (int i = 1; i < OPERATIONS; i++) {
+      PointDto.Response parent = random.nextInt(3) == 0
+          ? points.get(random.nextInt(points.size()))
+          : points.get(points.size() - 1);
+      if (random.nextInt(5) == 0) {
+        List<String> itemIds = IntStream.range(0, 1 + random.nextInt(4)).mapToObj(j -> "batch").toList();
+        points.addAll(pointService.pointDownBatch(parent.id(), itemIds));
+      } else {
+        points.add(pointService.pointDown(parent.id(), String.valueOf(i)));
+      }
+    }
+    return points.stream().mapToInt(PointDto.Response::depth).max().orElseThrow();
+  }
+}
@@ -0,0 +1,121 @@
+package me.hanju.branchdown.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import me.hanju.branchdown.IntegrationTestBase;
+import me.hanju.branchdown.dto.PointDto;
+import me.hanju.branchdown.repository.StreamRepository;
+
+/**
+ * 서비스/리포지토리 타이머와 경로 조회 메트릭 통합 테스트
+ *
+ * <p>절삭이 일어나는 legacy 방식으로 조회하여 읽은 행 수와 반환한 행 수가 다르게 기록되는지 확인합니다.
+ * 같은 컨텍스트의 다른 테스트도 메트릭을 남기므로 조회 전후의 차이로 비교합니다.</p>
+ */
+@DisplayName("경로 조회 메트릭 통합 테스트")
+@TestPropertySource(properties = "branchdown.path-query.mode=legacy")
+class PathQueryMetricsIntegrationTest extends IntegrationTestBase {
+
+  @Autowired
+  private StreamService streamService;
+
+  @Autowired
+  private PointService pointService;
+
+  @Autowired
+  private StreamRepository streamRepository;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  private Long streamId;
+  private PointDto.Response a;
+  private PointDto.Response b;
+
+  /** root - a - a2 - a3 에서 a 아래로 b를 분기한다 (b의 경로를 읽으면 a3가 절삭됨) */
+  @BeforeEach
+  void setUp() {
+    streamId = streamService.createStream().id();
+    Long rootPointId = streamRepository.findById(streamId).orElseThrow()
+        .getBranches().get(0).getPoints().get(0).getId();
+    a = pointService.pointDown(rootPointId, "a");
+    PointDto.Response a2 = pointService.pointDown(a.id(), "a2");
+    pointService.pointDown(a2.id(), "a3");
+    b = pointService.pointDown(a.id(), "b");
+  }
+
+  @Test
+  @DisplayName("서비스 메서드와 리포지토리 메서드의 실행 시간이 기록된다")
+  void recordsServiceAndRepositoryTimers() {
+    long serviceBefore = count(serviceTimer("getBranchMessages"));
+    long repositoryBefore = count(repositoryTimer("findAllUsingPath"));
+
+    streamService.getBranchMessages(streamId, b.branchNum(), -1);
+
+    assertThat(count(serviceTimer("getBranchMessages"))).isEqualTo(serviceBefore + 1);
+    assertThat(count(repositoryTimer("findAllUsingPath"))).isEqualTo(repositoryBefore + 1);
+  }
+
+  @Test
+  @DisplayName("읽은 행 수와 절삭 후 반환한 행 수, 경로 길이와 depth가 조회 작업별로 기록된다")
+  void recordsRowsAndPath() {
+    double fetchedBefore = total(summary("branchdown.path.rows.fetched", "getBranchMessages"));
+    double returnedBefore = total(summary("branchdown.path.rows.returned", "getBranchMessages"));
+    long clipBefore = count(meterRegistry.find("branchdown.path.clip")
+        .tags("operation", "getBranchMessages", "mode", "legacy").timer());
+    double lengthBefore = total(summary("branchdown.path.length", "getBranchMessages"));
+
+    List<PointDto.Response> points = streamService.getBranchMessages(streamId, b.branchNum(), -1);
+
+    assertThat(points).extracting(PointDto.Response::itemId).containsExactly(null, "a", "b");
+    // root, a, b, a3 (depth별 최대 branchNum) 중 a3가 절삭된다
+    assertThat(total(summary("branchdown.path.rows.fetched", "getBranchMessages")) - fetchedBefore).isEqualTo(4);
+    assertThat(total(summary("branchdown.path.rows.returned", "getBranchMessages")) - returnedBefore).isEqualTo(3);
+    assertThat(count(meterRegistry.find("branchdown.path.clip")
+        .tags("operation", "getBranchMessages", "mode", "legacy").timer())).isEqualTo(clipBefore + 1);
+    assertThat(total(summary("branchdown.path.length", "getBranchMessages")) - lengthBefore).isEqualTo(2);
+    assertThat(summary("branchdown.path.depth", "getBranchMessages").max()).isGreaterThanOrEqualTo(b.depth());
+  }
+
+  @Test
+  @DisplayName("조상 조회는 getAncestors 작업으로 기록된다")
+  void recordsAncestors() {
+    double returnedBefore = total(summary("branchdown.path.rows.returned", "getAncestors"));
+
+    pointService.getAncestors(b.id());
+
+    assertThat(total(summary("branchdown.path.rows.returned", "getAncestors")) - returnedBefore).isEqualTo(2);
+  }
+
+  private Timer serviceTimer(String method) {
+    return meterRegistry.find("branchdown.service")
+        .tags("class", StreamService.class.getName(), "method", method).timer();
+  }
+
+  private Timer repositoryTimer(String method) {
+    return meterRegistry.find("spring.data.repository.invocations").tags("method", method).timer();
+  }
+
+  private DistributionSummary summary(String name, String operation) {
+    return meterRegistry.find(name).tag("operation", operation).summary();
+  }
+
+  private static long count(Timer timer) {
+    return timer == null ? 0 : timer.count();
+  }
+
+  private static double total(DistributionSummary summary) {
+    return summary == null ? 0 : summary.totalAmount();
+  }
+}
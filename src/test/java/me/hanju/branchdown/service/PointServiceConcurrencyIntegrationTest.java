@@ -0,0 +1,157 @@
+package me.hanju.branchdown.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import me.hanju.branchdown.IntegrationTestBase;
+import me.hanju.branchdown.dto.PointDto;
+import me.hanju.branchdown.repository.PointRepository;
+import me.hanju.branchdown.repository.StreamRepository;
+
+/**
+ * 동시 pointDown 통합 테스트
+ *
+ * <p>여러 스레드가 각자의 트랜잭션을 커밋해야 하므로 테스트 트랜잭션을 사용하지 않고,
+ * 생성한 스트림은 테스트 종료 후 직접 삭제합니다.</p>
+ */
+@DisplayName("PointService 동시성 통합 테스트")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PointServiceConcurrencyIntegrationTest extends IntegrationTestBase {
+
+  private static final int THREADS = 16;
+
+  @Autowired
+  private PointService pointService;
+
+  @Autowired
+  private StreamService streamService;
+
+  @Autowired
+  private StreamRepository streamRepository;
+
+  @Autowired
+  private PointRepository pointRepository;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  private Long streamId;
+  private Long rootPointId;
+
+  @BeforeEach
+  void setUp() {
+    streamId = streamService.createStream().id();
+    rootPointId = transactionTemplate.execute(status -> streamRepository.findById(streamId).orElseThrow()
+        .getBranches().get(0).getPoints().get(0).getId());
+  }
+
+  @AfterEach
+  void tearDown() {
+    streamService.deleteStream(streamId);
+  }
+
+  @Test
+  @DisplayName("한 포인트에서 동시에 분기해도 브랜치 번호가 중복/누락 없이 할당된다")
+  void concurrentForksOnSamePoint() throws Exception {
+    pointService.pointDown(rootPointId, "first");
+
+    List<PointDto.Response> results = pointDownConcurrently(
+        IntStream.range(0, THREADS).mapToObj(i -> rootPointId).toList());
+
+    assertThat(results).extracting(PointDto.Response::branchNum)
+        .containsExactlyInAnyOrderElementsOf(IntStream.rangeClosed(1, THREADS).boxed().toList());
+    assertThat(results).allMatch(r -> r.depth() == 1);
+    assertThat(pointRepository.findById(rootPointId).orElseThrow().getChildBranchNums())
+        .containsExactlyInAnyOrder(IntStream.rangeClosed(0, THREADS).toArray());
+  }
+
+  @Test
+  @DisplayName("서로 다른 포인트에서 동시에 분기해도 브랜치 번호가 중복/누락 없이 할당된다")
+  void concurrentForksOnDifferentPoints() throws Exception {
+    List<Long> parentIds = new ArrayList<>();
+    Long parentId = rootPointId;
+    for (int i = 0; i < THREADS; i++) {
+      parentIds.add(parentId);
+      parentId = pointService.pointDown(parentId, "chain-" + i).id();
+    }
+
+    List<PointDto.Response> results = pointDownConcurrently(parentIds);
+
+    assertThat(results).extracting(PointDto.Response::branchNum)
+        .containsExactlyInAnyOrderElementsOf(IntStream.rangeClosed(1, THREADS).boxed().toList());
+    assertThat(streamRepository.findNextBranchNumById(streamId)).contains(THREADS + 1);
+  }
+
+  @Test
+  @DisplayName("같은 말단 포인트에 동시에 추가하면 하나만 기존 브랜치를 잇고 나머지는 분기한다")
+  void concurrentAppendsOnSameLeaf() throws Exception {
+    List<PointDto.Response> results = pointDownConcurrently(
+        IntStream.range(0, THREADS).mapToObj(i -> rootPointId).toList());
+
+    assertThat(results).extracting(PointDto.Response::branchNum)
+        .containsExactlyInAnyOrderElementsOf(IntStream.range(0, THREADS).boxed().toList());
+  }
+
+  @Test
+  @DisplayName("같은 스트림의 서로 다른 말단 포인트에 동시에 추가해도 교착 없이 각자의 브랜치를 잇는다")
+  void concurrentAppendsOnDifferentLeaves() throws Exception {
+    List<PointDto.Response> leaves = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      leaves.add(pointService.pointDown(rootPointId, "leaf-" + i));
+    }
+
+    for (int round = 1; round <= 5; round++) {
+      List<PointDto.Response> results = pointDownConcurrently(leaves.stream().map(PointDto.Response::id).toList());
+
+      assertThat(results).extracting(PointDto.Response::branchNum)
+          .containsExactlyElementsOf(leaves.stream().map(PointDto.Response::branchNum).toList());
+      int depth = 1 + round;
+      assertThat(results).allMatch(r -> r.depth() == depth);
+      leaves = results;
+    }
+    assertThat(streamRepository.findNextBranchNumById(streamId)).contains(THREADS);
+  }
+
+  /** 모든 스레드가 준비된 뒤 동시에 pointDown을 호출하고 결과를 모은다. */
+  private List<PointDto.Response> pointDownConcurrently(List<Long> parentIds) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    try {
+      List<Future<PointDto.Response>> futures = new ArrayList<>();
+      for (int i = 0; i < parentIds.size(); i++) {
+        Long parentId = parentIds.get(i);
+        String itemId = "item-" + i;
+        futures.add(executor.submit(() -> {
+          start.await();
+          return pointService.pointDown(parentId, itemId);
+        }));
+      }
+      start.countDown();
+
+      List<PointDto.Response> results = new ArrayList<>();
+      for (Future<PointDto.Response> future : futures) {
+        results.add(future.get(30, TimeUnit.SECONDS));
+      }
+      return results;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -3,16 +3,23 @@ package me.hanju.branchdown.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import jakarta.persistence.EntityManager;
 import me.hanju.branchdown.IntegrationTestBase;
+import me.hanju.branchdown.constant.StreamConstants;
 import me.hanju.branchdown.dto.PointDto;
 import me.hanju.branchdown.dto.StreamDto;
 import me.hanju.branchdown.entity.PointEntity;
@@ -35,6 +42,9 @@ class PointServiceIntegrationTest extends IntegrationTestBase {
   @Autowired
   private PointRepository pointRepository;
 
+  @Autowired
+  private EntityManager entityManager;
+
   private Long streamId;
   private PointEntity rootPoint;
 
@@ -71,6 +81,7 @@ class PointServiceIntegrationTest extends IntegrationTestBase {
       assertThat(first.branchNum()).isEqualTo(0);
       assertThat(second.branchNum()).isEqualTo(1);
 
+      clearPersistenceContext();
       StreamEntity updated = streamRepository.findById(streamId).orElseThrow();
       assertThat(updated.getBranches()).hasSize(2);
     }
@@ -81,6 +92,121 @@ class PointServiceIntegrationTest extends IntegrationTestBase {
       assertThatThrownBy(() -> pointService.pointDown(999999L, "item"))
           .isInstanceOf(NoSuchElementException.class);
     }
+
+    @Test
+    @DisplayName("포인트 추가 시 branches/points 컬렉션을 로딩하지 않는다")
+    void doesNotLoadCollections() {
+      PointDto.Response p1 = pointService.pointDown(rootPoint.getId(), "1");
+      pointService.pointDown(rootPoint.getId(), "2");
+      pointService.pointDown(p1.id(), "1-1");
+      clearPersistenceContext();
+
+      Statistics statistics = entityManager.getEntityManagerFactory()
+          .unwrap(SessionFactory.class)
+          .getStatistics();
+      statistics.clear();
+
+      PointDto.Response linear = pointService.pointDown(p1.id(), "1-2");
+      PointDto.Response forked = pointService.pointDown(rootPoint.getId(), "3");
+      entityManager.flush();
+
+      assertThat(linear.branchNum()).isEqualTo(2);
+      assertThat(forked.branchNum()).isEqualTo(3);
+      assertThat(statistics.isStatisticsEnabled()).isTrue();
+      assertThat(statistics.getEntityInsertCount()).isEqualTo(4);
+      assertThat(statistics.getCollectionLoadCount()).isZero();
+      assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+  }
+
+  @Nested
+  @DisplayName("pointDownBatch")
+  class PointDownBatchTests {
+
+    @Test
+    @DisplayName("여러 포인트를 같은 브랜치의 선형 체인으로 추가한다")
+    void linearChain() {
+      List<PointDto.Response> chain = pointService.pointDownBatch(rootPoint.getId(), List.of("1", "2", "3"));
+
+      assertThat(chain).extracting(PointDto.Response::itemId).containsExactly("1", "2", "3");
+      assertThat(chain).extracting(PointDto.Response::depth).containsExactly(1, 2, 3);
+      assertThat(chain).allMatch(p -> p.branchNum() == 0);
+      assertThat(chain.get(0).childBranchNums()).containsExactly(0);
+      assertThat(chain.get(2).childBranchNums()).isEmpty();
+
+      List<PointDto.Response> ancestors = pointService.getAncestors(chain.get(2).id());
+      assertThat(ancestors).extracting(PointDto.Response::id)
+          .containsExactlyElementsOf(chain.stream().map(PointDto.Response::id).toList());
+    }
+
+    @Test
+    @DisplayName("분기가 필요한 경우 브랜치를 하나만 생성한다")
+    void createsSingleBranch() {
+      pointService.pointDown(rootPoint.getId(), "main");
+
+      List<PointDto.Response> chain = pointService.pointDownBatch(rootPoint.getId(), List.of("a", "b", "c"));
+
+      assertThat(chain).allMatch(p -> p.branchNum() == 1);
+      assertThat(streamRepository.findNextBranchNumById(streamId)).contains(2);
+
+      PointDto.Response next = pointService.pointDown(chain.get(2).id(), "d");
+      assertThat(next.branchNum()).isEqualTo(1);
+      assertThat(next.depth()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("체인의 마지막 포인트를 스트림의 최신 포인트로 기록한다")
+    void updatesLatest() {
+      pointService.pointDown(rootPoint.getId(), "main");
+
+      List<PointDto.Response> chain = pointService.pointDownBatch(rootPoint.getId(), List.of("a", "b"));
+
+      clearPersistenceContext();
+      StreamEntity stream = streamRepository.findById(streamId).orElseThrow();
+      assertThat(stream.getLatestBranchNum()).isEqualTo(1);
+      assertThat(stream.getLatestPointId()).isEqualTo(chain.get(1).id());
+    }
+
+    @Test
+    @DisplayName("INSERT를 JDBC 배치로 실행한다")
+    void batchesInserts() {
+      List<String> itemIds = IntStream.range(0, 20).mapToObj(String::valueOf).toList();
+      clearPersistenceContext();
+
+      Statistics statistics = entityManager.getEntityManagerFactory()
+          .unwrap(SessionFactory.class)
+          .getStatistics();
+      statistics.clear();
+
+      pointService.pointDownBatch(rootPoint.getId(), itemIds);
+      entityManager.flush();
+
+      assertThat(statistics.getEntityInsertCount()).isEqualTo(itemIds.size());
+      assertThat(statistics.getPrepareStatementCount()).isLessThan(itemIds.size());
+    }
+
+    @Test
+    @DisplayName("목록이 없거나 비어 있거나 최대 개수를 넘으면 예외 발생")
+    void invalidSize() {
+      List<String> tooMany = IntStream.rangeClosed(0, StreamConstants.MAX_BATCH_DOWN_SIZE)
+          .mapToObj(String::valueOf)
+          .toList();
+
+      assertThatThrownBy(() -> pointService.pointDownBatch(rootPoint.getId(), null))
+          .isInstanceOf(IllegalArgumentException.class);
+      assertThatThrownBy(() -> pointService.pointDownBatch(rootPoint.getId(), List.of()))
+          .isInstanceOf(IllegalArgumentException.class);
+      assertThatThrownBy(() -> pointService.pointDownBatch(rootPoint.getId(), tooMany))
+          .isInstanceOf(IllegalArgumentException.class);
+      assertThat(pointRepository.findMaxDepth(streamId, StreamConstants.INITIAL_BRANCH_NUM)).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 포인트에서 예외 발생")
+    void notFound() {
+      assertThatThrownBy(() -> pointService.pointDownBatch(999999L, List.of("item")))
+          .isInstanceOf(NoSuchElementException.class);
+    }
   }
 
   @Nested
@@ -98,6 +224,7 @@ class PointServiceIntegrationTest extends IntegrationTestBase {
       assertThat(p2.branchNum()).isEqualTo(0);
       assertThat(p3.branchNum()).isEqualTo(0);
 
+      clearPersistenceContext();
       StreamEntity updated = streamRepository.findById(streamId).orElseThrow();
       assertThat(updated.getBranches()).hasSize(1);
     }
@@ -133,6 +260,7 @@ class PointServiceIntegrationTest extends IntegrationTestBase {
       assertThat(a1.branchNum()).isEqualTo(0);
       assertThat(a2.branchNum()).isEqualTo(2);
 
+      clearPersistenceContext();
       StreamEntity updated = streamRepository.findById(streamId).orElseThrow();
       assertThat(updated.getBranches()).hasSize(3);
     }
@@ -188,4 +316,166 @@ class PointServiceIntegrationTest extends IntegrationTestBase {
           .isInstanceOf(NoSuchElementException.class);
     }
   }
+
+  @Nested
+  @DisplayName("getAncestorsBatch")
+  class GetAncestorsBatchTests {
+
+    @Test
+    @DisplayName("요청 순서대로 각 포인트의 getAncestors 결과를 반환하고, 공통 조상은 구간 조회 한 번으로 읽는다")
+    void matchesGetAncestors() {
+      // 브랜치 0: a1-a2-a3-a4, 브랜치 1: a2에서 분기한 f1-f2, 브랜치 2: f1에서 분기한 h
+      List<PointDto.Response> main = pointService.pointDownBatch(rootPoint.getId(), List.of("a1", "a2", "a3", "a4"));
+      List<PointDto.Response> forked = pointService.pointDownBatch(main.get(1).id(), List.of("f1", "f2"));
+      PointDto.Response nested = pointService.pointDown(forked.get(0).id(), "h");
+      List<Long> ids = List.of(main.get(3).id(), forked.get(1).id(), nested.id(), main.get(3).id(),
+          rootPoint.getId());
+      clearPersistenceContext();
+
+      Statistics statistics = entityManager.getEntityManagerFactory()
+          .unwrap(SessionFactory.class)
+          .getStatistics();
+      statistics.clear();
+
+      List<PointDto.Ancestors> batch = pointService.getAncestorsBatch(ids);
+
+      // 포인트 조회 1 + 경로상 브랜치 조회(브랜치 1, 2) 최대 2 + 구간 조회 1
+      assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+      assertThat(batch).extracting(PointDto.Ancestors::id).containsExactlyElementsOf(ids);
+      assertThat(batch.get(2).ancestors()).extracting(PointDto.Response::itemId)
+          .containsExactly("a1", "a2", "f1", "h");
+      assertThat(batch.get(4).ancestors()).isEmpty();
+      for (PointDto.Ancestors ancestors : batch) {
+        assertThat(ancestors.ancestors()).as("point=%d", ancestors.id())
+            .usingRecursiveFieldByFieldElementComparator()
+            .containsExactlyElementsOf(pointService.getAncestors(ancestors.id()));
+      }
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 포인트가 있으면 예외 발생")
+    void notFound() {
+      PointDto.Response p1 = pointService.pointDown(rootPoint.getId(), "1");
+
+      assertThatThrownBy(() -> pointService.getAncestorsBatch(List.of(p1.id(), 999999L)))
+          .isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    @DisplayName("빈 목록이거나 최대 개수를 넘으면 예외 발생")
+    void invalidSize() {
+      List<Long> tooMany = IntStream.rangeClosed(0, StreamConstants.MAX_ANCESTORS_BATCH_SIZE)
+          .mapToObj(i -> rootPoint.getId())
+          .toList();
+
+      assertThatThrownBy(() -> pointService.getAncestorsBatch(List.of()))
+          .isInstanceOf(IllegalArgumentException.class);
+      assertThatThrownBy(() -> pointService.getAncestorsBatch(tooMany))
+          .isInstanceOf(IllegalArgumentException.class);
+    }
+  }
+
+  @Nested
+  @DisplayName("getDescendants")
+  class GetDescendantsTests {
+
+    private List<PointDto.Response> main;
+    private List<PointDto.Response> forked;
+    private PointDto.Response nested;
+
+    /**
+     * 브랜치 0: 루트-a1-a2-a3-a4, 브랜치 1: a2에서 분기한 f1-f2, 브랜치 2: a1에서 분기한 g-g2,
+     * 브랜치 3: f1에서 분기한 h, 브랜치 4: g에서 분기한 k, 브랜치 5~12: 루트에서 분기한 r5~r12 (r12-r12b),
+     * 브랜치 13: r12에서 분기한 r13 (path "0,12"는 브랜치 1의 하위 경로 "0,1"로 시작하는 문자열이지만 하위 브랜치가 아니다)
+     */
+    @BeforeEach
+    void setUp() {
+      main = pointService.pointDownBatch(rootPoint.getId(), List.of("a1", "a2", "a3", "a4"));
+      forked = pointService.pointDownBatch(main.get(1).id(), List.of("f1", "f2"));
+      List<PointDto.Response> g = pointService.pointDownBatch(main.get(0).id(), List.of("g", "g2"));
+      nested = pointService.pointDown(forked.get(0).id(), "h");
+      pointService.pointDown(g.get(0).id(), "k");
+      PointDto.Response r12 = null;
+      for (int i = 5; i <= 12; i++) {
+        r12 = pointService.pointDown(rootPoint.getId(), "r" + i);
+      }
+      pointService.pointDown(r12.id(), "r12b");
+      PointDto.Response r13 = pointService.pointDown(r12.id(), "r13");
+      assertThat(r13.branchNum()).isEqualTo(13);
+    }
+
+    @Test
+    @DisplayName("같은 브랜치의 이후 포인트와 이후에 분기한 브랜치(하위 포함)의 포인트를 가까운 depth부터 반환한다")
+    void descendants() {
+      List<PointDto.Response> descendants = pointService.getDescendants(main.get(1).id(), null, 100);
+
+      assertThat(descendants).extracting(PointDto.Response::itemId).containsExactly("a3", "f1", "a4", "f2", "h");
+      assertThat(pointService.countDescendants(main.get(1).id(), null)).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("문자열 접두사가 같아도 하위 경로가 아닌 브랜치는 제외한다")
+    void excludesTextPrefixFalsePositive() {
+      assertThat(pointService.getDescendants(forked.get(0).id(), null, 100))
+          .extracting(PointDto.Response::itemId).containsExactly("f2", "h");
+    }
+
+    @Test
+    @DisplayName("maxDepth와 limit으로 범위를 제한한다")
+    void maxDepthAndLimit() {
+      assertThat(pointService.getDescendants(main.get(1).id(), 3, 100))
+          .extracting(PointDto.Response::itemId).containsExactly("a3", "f1");
+      assertThat(pointService.countDescendants(main.get(1).id(), 3)).isEqualTo(2);
+      assertThat(pointService.getDescendants(main.get(1).id(), null, 3))
+          .extracting(PointDto.Response::itemId).containsExactly("a3", "f1", "a4");
+      assertThat(pointService.countDescendants(nested.id(), null)).isZero();
+    }
+
+    @Test
+    @DisplayName("모든 포인트에 대해 트리에서 부모를 따라 올라가 찾은 하위 포인트와 같다")
+    void matchesTree() {
+      StreamDto.Tree tree = streamService.getTree(streamId, 0, null);
+      Map<Long, Long> parents = new HashMap<>();
+      tree.points().forEach(point -> parents.put(point.id(), point.parentId()));
+
+      for (StreamDto.TreeNode point : tree.points()) {
+        List<Long> expected = tree.points().stream()
+            .filter(other -> isDescendant(parents, other.id(), point.id()))
+            .map(StreamDto.TreeNode::id)
+            .sorted()
+            .toList();
+        List<Long> actual = pointService.getDescendants(point.id(), null, 1000).stream()
+            .map(PointDto.Response::id)
+            .sorted()
+            .toList();
+        assertThat(actual).as("descendants of %s", point.itemId()).isEqualTo(expected);
+        assertThat(pointService.countDescendants(point.id(), null)).isEqualTo(expected.size());
+      }
+    }
+
+    @Test
+    @DisplayName("limit이 범위를 벗어나거나 존재하지 않는 포인트면 예외 발생")
+    void invalid() {
+      assertThatThrownBy(() -> pointService.getDescendants(rootPoint.getId(), null, 0))
+          .isInstanceOf(IllegalArgumentException.class);
+      assertThatThrownBy(() -> pointService.getDescendants(999999L, null, 10))
+          .isInstanceOf(NoSuchElementException.class);
+      assertThatThrownBy(() -> pointService.countDescendants(999999L, null))
+          .isInstanceOf(NoSuchElementException.class);
+    }
+
+    private static boolean isDescendant(Map<Long, Long> parents, Long id, Long ancestorId) {
+      for (Long parent = parents.get(id); parent != null; parent = parents.get(parent)) {
+        if (parent.equals(ancestorId)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  private void clearPersistenceContext() {
+    entityManager.flush();
+    entityManager.clear();
+  }
 }
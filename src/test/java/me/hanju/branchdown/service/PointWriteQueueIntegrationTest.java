@@ -0,0 +1,279 @@
+package me.hanju.branchdown.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.hanju.branchdown.IntegrationTestBase;
+import me.hanju.branchdown.config.BranchdownProperties;
+import me.hanju.branchdown.dto.PointDto;
+import me.hanju.branchdown.repository.PointRepository;
+import me.hanju.branchdown.repository.StreamRepository;
+
+/**
+ * 스트림별 쓰기 큐 통합 테스트
+ *
+ * <p>요청이 각자의 트랜잭션이 아닌 큐의 트랜잭션으로 커밋되므로 테스트 트랜잭션을 사용하지 않고,
+ * 생성한 스트림은 테스트 종료 후 직접 삭제합니다.</p>
+ */
+@DisplayName("PointWriteQueue 통합 테스트")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "branchdown.write-queue.enabled=true")
+class PointWriteQueueIntegrationTest extends IntegrationTestBase {
+
+  private static final int THREADS = 16;
+
+  @Autowired
+  private PointWriteQueue pointWriteQueue;
+
+  @Autowired
+  private PointService pointService;
+
+  @Autowired
+  private StreamService streamService;
+
+  @Autowired
+  private StreamRepository streamRepository;
+
+  @Autowired
+  private PointRepository pointRepository;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Autowired
+  private BranchdownProperties properties;
+
+  private Long streamId;
+  private Long rootPointId;
+
+  @BeforeEach
+  void setUp() {
+    streamId = streamService.createStream().id();
+    rootPointId = transactionTemplate.execute(status -> streamRepository.findById(streamId).orElseThrow()
+        .getBranches().get(0).getPoints().get(0).getId());
+  }
+
+  @AfterEach
+  void tearDown() {
+    streamService.deleteStream(streamId);
+  }
+
+  @Test
+  @DisplayName("pointDownAll은 요청 순서대로 pointDown한 것과 같은 결과를 만든다")
+  void pointDownAllMatchesSequential() {
+    PointDto.Response a = pointWriteQueue.pointDown(rootPointId, "a");
+    PointDto.Response b = pointWriteQueue.pointDown(a.id(), "b");
+
+    List<PointDto.Response> results = pointService.pointDownAll(streamId,
+        List.of(rootPointId, a.id(), rootPointId, Long.MAX_VALUE, b.id(), a.id()),
+        List.of("r1", "a1", "r2", "missing", "b1", "a2"));
+
+    assertThat(results).extracting(r -> r == null ? null : r.branchNum()).containsExactly(1, 2, 3, null, 0, 4);
+    assertThat(results.get(4).depth()).isEqualTo(3);
+    assertThat(pointRepository.findById(rootPointId).orElseThrow().getChildBranchNums()).containsExactly(0, 1, 3);
+    assertThat(pointRepository.findById(a.id()).orElseThrow().getChildBranchNums()).containsExactly(0, 2, 4);
+    assertThat(streamRepository.findNextBranchNumById(streamId)).contains(5);
+    assertThat(streamRepository.findLatestBranchNumById(streamId)).contains(4);
+    assertThat(streamService.getBranchMessages(streamId, 2, -1))
+        .extracting(PointDto.Response::itemId).containsExactly(null, "a", "a1");
+  }
+
+  @Test
+  @DisplayName("작성자가 처리하는 동안 쌓인 요청은 한 트랜잭션으로 묶여 처리된다")
+  void coalescesPendingAppends() throws Exception {
+    DistributionSummary batchSizes = meterRegistry.get("branchdown.write.batch.size").summary();
+    long countBefore = batchSizes.count();
+    double totalBefore = batchSizes.totalAmount();
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+    CountDownLatch locked = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    try {
+      // 기준 포인트를 잠가 첫 요청을 처리하는 작성자를 붙잡아 둔다
+      Future<?> holder = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+        pointRepository.findByIdForUpdate(rootPointId).orElseThrow();
+        locked.countDown();
+        await(release);
+      }));
+      locked.await();
+
+      List<Future<PointDto.Response>> futures = new ArrayList<>();
+      futures.add(executor.submit(() -> pointWriteQueue.pointDown(rootPointId, "first")));
+      waitFor(() -> batchSizes.count() == countBefore + 1);
+      for (int i = 1; i < THREADS; i++) {
+        String itemId = "item-" + i;
+        futures.add(executor.submit(() -> pointWriteQueue.pointDown(rootPointId, itemId)));
+      }
+      waitFor(() -> pointWriteQueue.pendingCount(streamId) == THREADS - 1);
+      release.countDown();
+      holder.get(30, TimeUnit.SECONDS);
+
+      List<PointDto.Response> results = new ArrayList<>();
+      for (Future<PointDto.Response> future : futures) {
+        results.add(future.get(30, TimeUnit.SECONDS));
+      }
+
+      assertThat(results).extracting(PointDto.Response::branchNum)
+          .containsExactlyInAnyOrderElementsOf(IntStream.range(0, THREADS).boxed().toList());
+      assertThat(pointRepository.findById(rootPointId).orElseThrow().getChildBranchNums())
+          .containsExactlyInAnyOrder(IntStream.range(0, THREADS).toArray());
+      assertThat(batchSizes.count()).isEqualTo(countBefore + 2);
+      assertThat(batchSizes.totalAmount() - totalBefore).isEqualTo(THREADS);
+    } finally {
+      release.countDown();
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  @DisplayName("동시에 여러 포인트에 추가해도 브랜치 번호가 중복/누락 없이 할당된다")
+  void concurrentAppendsOnDifferentPoints() throws Exception {
+    List<Long> parentIds = new ArrayList<>();
+    Long parentId = rootPointId;
+    for (int i = 0; i < THREADS; i++) {
+      parentIds.add(parentId);
+      parentId = pointWriteQueue.pointDown(parentId, "chain-" + i).id();
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    try {
+      List<Future<PointDto.Response>> futures = new ArrayList<>();
+      for (Long id : parentIds) {
+        futures.add(executor.submit(() -> {
+          start.await();
+          return pointWriteQueue.pointDown(id, "fork");
+        }));
+      }
+      start.countDown();
+      int[] branchNums = new int[THREADS];
+      for (int i = 0; i < THREADS; i++) {
+        branchNums[i] = futures.get(i).get(30, TimeUnit.SECONDS).branchNum();
+      }
+
+      assertThat(Arrays.stream(branchNums).sorted().toArray()).containsExactly(IntStream.rangeClosed(1, THREADS).toArray());
+      assertThat(streamRepository.findNextBranchNumById(streamId)).contains(THREADS + 1);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  @DisplayName("존재하지 않는 포인트에 추가하면 예외가 발생한다")
+  void pointNotFound() {
+    assertThatThrownBy(() -> pointWriteQueue.pointDown(Long.MAX_VALUE, "item"))
+        .isInstanceOf(NoSuchElementException.class);
+  }
+
+  @Test
+  @DisplayName("작성자가 예상하지 못한 오류로 멈추면 대기 중인 요청은 실패하고, 이후 요청은 새 작성자가 처리한다")
+  void recoversFromWriterFailure() {
+    AtomicBoolean failNext = new AtomicBoolean(true);
+    // 모든 호출을 Spring 빈에 위임하고 첫 호출만 Error로 실패시킨다
+    PointService failing = new PointService(null, null, null, null, null, null, null) {
+      @Override
+      public PointDto.Response pointDown(Long id, String itemId) {
+        if (failNext.getAndSet(false)) {
+          throw new AssertionError("writer failure");
+        }
+        return pointService.pointDown(id, itemId);
+      }
+    };
+    PointWriteQueue queue = new PointWriteQueue(failing, pointRepository, properties, new SimpleMeterRegistry());
+    try {
+      assertThatThrownBy(() -> queue.pointDown(rootPointId, "lost"))
+          .isInstanceOf(IllegalStateException.class)
+          .hasCauseInstanceOf(AssertionError.class);
+      assertThat(queue.pendingCount(streamId)).isZero();
+
+      assertThat(queue.pointDown(rootPointId, "next").branchNum()).isZero();
+    } finally {
+      queue.shutdown();
+    }
+  }
+
+  @Test
+  @DisplayName("timeout 안에 처리되지 않은 요청은 실패하고, 아직 큐에 있던 요청은 처리되지 않는다")
+  void timesOutQueuedAppends() throws Exception {
+    BranchdownProperties shortTimeout = new BranchdownProperties(properties.pathQuery(), properties.export(),
+        properties.cache(), properties.storage(), new BranchdownProperties.WriteQueue(true, 100, Duration.ofMillis(300)),
+        properties.readReplica(), properties.deletion(), properties.streamPool());
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    PointWriteQueue queue = new PointWriteQueue(pointService, pointRepository, shortTimeout, registry);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    CountDownLatch locked = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    try {
+      // 기준 포인트를 잠가 첫 요청을 처리하는 작성자를 붙잡아 둔다
+      Future<?> holder = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+        pointRepository.findByIdForUpdate(rootPointId).orElseThrow();
+        locked.countDown();
+        await(release);
+      }));
+      locked.await();
+      executor.submit(() -> queue.pointDown(rootPointId, "first"));
+      waitFor(() -> registry.get("branchdown.write.batch.size").summary().count() == 1);
+
+      assertThatThrownBy(() -> queue.pointDown(rootPointId, "late"))
+          .isInstanceOf(IllegalStateException.class)
+          .hasMessageContaining("Timed out");
+      release.countDown();
+      holder.get(30, TimeUnit.SECONDS);
+
+      // 이미 처리 중이던 첫 요청은 커밋되고, 큐에 남아 있던 요청은 건너뛴다
+      waitFor(() -> pointRepository.findById(rootPointId).orElseThrow().getChildBranchNums().length == 1
+          && queue.pendingCount(streamId) == 0);
+      assertThat(registry.get("branchdown.write.batch.size").summary().count()).isEqualTo(1);
+      assertThat(pointRepository.findById(rootPointId).orElseThrow().getChildBranchNums()).containsExactly(0);
+    } finally {
+      release.countDown();
+      executor.shutdownNow();
+      queue.shutdown();
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(30, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertThat(condition.getAsBoolean()).isTrue();
+  }
+}
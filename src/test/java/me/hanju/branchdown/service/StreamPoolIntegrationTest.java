@@ -0,0 +1,122 @@
+package me.hanju.branchdown.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.hanju.branchdown.IntegrationTestBase;
+import me.hanju.branchdown.config.BranchdownProperties;
+import me.hanju.branchdown.dto.PointDto;
+import me.hanju.branchdown.dto.StreamDto;
+
+/**
+ * 빈 스트림 풀 통합 테스트
+ *
+ * <p>풀은 백그라운드 스레드가 별도 트랜잭션으로 채우므로 테스트 트랜잭션을 사용하지 않습니다.</p>
+ */
+@DisplayName("StreamPool 통합 테스트")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = { "branchdown.stream-pool.enabled=true", "branchdown.stream-pool.size=4" })
+class StreamPoolIntegrationTest extends IntegrationTestBase {
+
+  @Autowired
+  private StreamPool streamPool;
+
+  @Autowired
+  private StreamService streamService;
+
+  @Autowired
+  private PointService pointService;
+
+  @Autowired
+  private StreamPurger streamPurger;
+
+  @Autowired
+  private BranchdownProperties properties;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private final List<Long> createdStreamIds = new ArrayList<>();
+
+  @AfterEach
+  void tearDown() {
+    createdStreamIds.forEach(streamService::deleteStream);
+  }
+
+  @Test
+  @DisplayName("풀에서 꺼낸 스트림은 이미 만들어진 빈 스트림이며, 꺼낸 뒤 풀이 다시 채워진다")
+  void servesPooledStreams() throws InterruptedException {
+    waitFor(() -> available() == 4);
+
+    for (int i = 0; i < 3; i++) {
+      createdStreamIds.add(streamPool.createStream().id());
+    }
+
+    assertThat(createdStreamIds).doesNotHaveDuplicates();
+    for (Long streamId : createdStreamIds) {
+      List<PointDto.Response> points = streamService.getStreamPoints(streamId);
+      assertThat(points).singleElement();
+      assertThat(pointService.pointDown(points.getFirst().id(), "item").depth()).isEqualTo(1);
+    }
+    // 두 번째로 꺼낼 때 절반 이하가 되어 채우기 시작하며, 세 번째를 꺼낸 시점에 따라 3개 또는 4개가 된다
+    waitFor(() -> available() >= 3);
+  }
+
+  @Test
+  @DisplayName("풀이 비어 있으면 바로 만들고, 종료 시 남은 스트림은 삭제 표시한다")
+  void fallsBackAndDeletesLeftoversOnShutdown() throws InterruptedException {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    StreamPool pool = new StreamPool(streamService, streamPurger, properties, registry);
+
+    createdStreamIds.add(pool.createStream().id());
+    assertThat(registry.counter("branchdown.stream.pool.misses").count()).isEqualTo(1);
+    waitFor(() -> registry.get("branchdown.stream.pool.available").gauge().value() == 4);
+
+    List<Long> before = liveStreamIds();
+    pool.shutdown();
+    List<Long> leftovers = new ArrayList<>(before);
+    leftovers.removeAll(liveStreamIds());
+
+    assertThat(leftovers).hasSize(4);
+    for (Long streamId : leftovers) {
+      assertThatThrownBy(() -> streamService.getStream(streamId)).isInstanceOf(NoSuchElementException.class);
+      streamPurger.purge(streamId);
+    }
+  }
+
+  private double available() {
+    return meterRegistry.get("branchdown.stream.pool.available").gauge().value();
+  }
+
+  private List<Long> liveStreamIds() {
+    return jdbcTemplate.queryForList("SELECT stream_id FROM streams WHERE deleted_at IS NULL", Long.class);
+  }
+
+  private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertThat(condition.getAsBoolean()).isTrue();
+  }
+}
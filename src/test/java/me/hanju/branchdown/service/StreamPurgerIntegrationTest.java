@@ -0,0 +1,194 @@
+package me.hanju.branchdown.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.hanju.branchdown.IntegrationTestBase;
+import me.hanju.branchdown.config.BranchdownProperties;
+import me.hanju.branchdown.dto.PointDto;
+import me.hanju.branchdown.dto.StreamDto;
+import me.hanju.branchdown.repository.BranchRepository;
+import me.hanju.branchdown.repository.PointRepository;
+import me.hanju.branchdown.repository.StreamRepository;
+
+/**
+ * 스트림 삭제(삭제 표시 후 묶음 단위 정리) 통합 테스트
+ *
+ * <p>정리가 묶음마다 별도 트랜잭션으로 커밋되므로 테스트 트랜잭션을 사용하지 않습니다.
+ * 묶음이 여러 번 나뉘도록 묶음 크기를 작게 설정합니다.</p>
+ */
+@DisplayName("StreamPurger 통합 테스트")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "branchdown.deletion.chunk-size=7")
+class StreamPurgerIntegrationTest extends IntegrationTestBase {
+
+  @Autowired
+  private StreamService streamService;
+
+  @Autowired
+  private PointService pointService;
+
+  @Autowired
+  private StreamPurger streamPurger;
+
+  @Autowired
+  private StreamRepository streamRepository;
+
+  @Autowired
+  private BranchRepository branchRepository;
+
+  @Autowired
+  private PointRepository pointRepository;
+
+  @Autowired
+  private BranchPathCache branchPathCache;
+
+  @Autowired
+  private AncestorCache ancestorCache;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Autowired
+  private BranchdownProperties properties;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private Long streamId;
+  private PointDto.Response leaf;
+  private PointDto.Response fork;
+
+  /** root 아래 30개 체인과 중간에서 분기한 브랜치 하나 (포인트 32개, 브랜치 2개) */
+  @BeforeEach
+  void setUp() {
+    streamId = streamService.createStream().id();
+    Long rootPointId = streamService.getStreamPoints(streamId).getFirst().id();
+    List<PointDto.Response> chain = pointService.pointDownBatch(rootPointId,
+        IntStream.range(0, 30).mapToObj(i -> "item-" + i).toList());
+    leaf = chain.getLast();
+    fork = pointService.pointDown(chain.get(10).id(), "fork");
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (rows("streams") > 0) {
+      streamPurger.purge(streamId);
+    }
+  }
+
+  @Test
+  @DisplayName("동기 삭제는 포인트를 묶음 단위로 지운 뒤 브랜치와 스트림 행까지 지우고 반환한다")
+  void deletesAllRows() {
+    assertThat(rows("points")).isEqualTo(32);
+    assertThat(rows("branches")).isEqualTo(2);
+
+    streamService.deleteStream(streamId);
+
+    assertThat(rows("points")).isZero();
+    assertThat(rows("branches")).isZero();
+    assertThat(rows("streams")).isZero();
+  }
+
+  @Test
+  @DisplayName("삭제 표시된 스트림은 정리 전에도 모든 조회가 404이고, 포인트 추가와 재삭제도 실패한다")
+  void tombstonedStreamIsHidden() {
+    // 경로를 캐시에 올려 둔 뒤 삭제 표시 (커밋 시 캐시도 지워져야 함)
+    streamService.getBranchMessages(streamId, fork.branchNum(), -1);
+    mark(Instant.now());
+
+    assertThatThrownBy(() -> streamService.getStream(streamId)).isInstanceOf(NoSuchElementException.class);
+    assertThatThrownBy(() -> streamService.getStreamPoints(streamId)).isInstanceOf(NoSuchElementException.class);
+    assertThatThrownBy(() -> streamService.getBranchMessages(streamId, fork.branchNum(), -1))
+        .isInstanceOf(NoSuchElementException.class);
+    assertThatThrownBy(() -> pointService.getAncestors(leaf.id())).isInstanceOf(NoSuchElementException.class);
+    assertThatThrownBy(() -> streamService.exportPoints(streamId, StreamDto.ExportView.TREE, point -> {
+    })).isInstanceOf(NoSuchElementException.class);
+    assertThatThrownBy(() -> pointService.pointDown(leaf.id(), "late")).isInstanceOf(NoSuchElementException.class);
+    assertThatThrownBy(() -> pointService.pointDownBatch(leaf.id(), List.of("late")))
+        .isInstanceOf(NoSuchElementException.class);
+    assertThatThrownBy(() -> streamService.deleteStream(streamId)).isInstanceOf(NoSuchElementException.class);
+
+    // 실패한 추가는 롤백된다
+    assertThat(rows("points")).isEqualTo(32);
+  }
+
+  @Test
+  @DisplayName("정리되지 않고 남은 삭제 표시 스트림은 한 주기가 지난 뒤 sweep에서 정리된다")
+  void sweepPurgesLeftoverTombstones() {
+    mark(Instant.now());
+    streamPurger.sweep();
+    assertThat(rows("points")).isEqualTo(32);
+
+    mark(Instant.now().minus(properties.deletion().sweepInterval()).minusSeconds(1));
+    streamPurger.sweep();
+
+    assertThat(rows("points")).isZero();
+    assertThat(rows("streams")).isZero();
+  }
+
+  @Test
+  @DisplayName("비동기 삭제는 삭제 표시만 하고 반환하며, 정리는 백그라운드에서 끝난다")
+  void asyncDeleteReturnsBeforePurge() throws InterruptedException {
+    BranchdownProperties async = new BranchdownProperties(properties.pathQuery(), properties.export(),
+        properties.cache(), properties.storage(), properties.writeQueue(), properties.readReplica(),
+        new BranchdownProperties.Deletion(true, 7, Duration.ofHours(1)), properties.streamPool());
+    StreamPurger purger = new StreamPurger(streamRepository, branchRepository, pointRepository, branchPathCache,
+        ancestorCache, transactionManager, async, new SimpleMeterRegistry());
+    purger.start();
+    try {
+      purger.delete(streamId);
+
+      assertThatThrownBy(() -> streamService.getStream(streamId)).isInstanceOf(NoSuchElementException.class);
+      waitFor(() -> rows("streams") == 0);
+      assertThat(rows("points")).isZero();
+      assertThat(rows("branches")).isZero();
+    } finally {
+      purger.shutdown();
+    }
+  }
+
+  /** 정리 없이 삭제 표시만 한다 (deleted_at을 지정한 시각으로) */
+  private void mark(Instant deletedAt) {
+    jdbcTemplate.update("UPDATE streams SET deleted_at = NULL WHERE stream_id = ?", streamId);
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+      assertThat(streamRepository.markDeleted(streamId, deletedAt)).isEqualTo(1);
+      branchPathCache.evictStreamAfterCommit(streamId);
+      ancestorCache.evictStreamAfterCommit(streamId);
+    });
+  }
+
+  private int rows(String table) {
+    return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE stream_id = ?", Integer.class,
+        streamId);
+  }
+
+  private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertThat(condition.getAsBoolean()).isTrue();
+  }
+}
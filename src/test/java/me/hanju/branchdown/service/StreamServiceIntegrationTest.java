@@ -3,7 +3,10 @@ package me.hanju.branchdown.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -30,6 +33,9 @@ class StreamServiceIntegrationTest extends IntegrationTestBase {
   @Autowired
   private StreamService streamService;
 
+  @Autowired
+  private PointService pointService;
+
   @Autowired
   private StreamRepository streamRepository;
 
@@ -55,6 +61,33 @@ class StreamServiceIntegrationTest extends IntegrationTestBase {
     assertThat(branch.getPoints().get(0).getDepth()).isEqualTo(StreamConstants.ROOT_POINT_DEPTH);
   }
 
+  @Test
+  @DisplayName("스트림 일괄 생성 시 스트림마다 초기 브랜치와 루트 포인트를 만든다")
+  void createStreams() {
+    List<StreamDto.Response> responses = streamService.createStreams(5);
+
+    assertThat(responses).hasSize(5);
+    assertThat(responses).extracting(StreamDto.Response::id).doesNotHaveDuplicates();
+    for (StreamDto.Response response : responses) {
+      assertThat(response.createdAt()).isNotNull();
+      BranchEntity branch = branchRepository
+          .findById(new BranchId(response.id(), StreamConstants.INITIAL_BRANCH_NUM)).orElseThrow();
+      assertThat(branch.getForkDepth()).isEqualTo(StreamConstants.INITIAL_BRANCH_FORK_DEPTH);
+      assertThat(streamService.getStreamPoints(response.id()))
+          .singleElement()
+          .satisfies(root -> assertThat(root.depth()).isEqualTo(StreamConstants.ROOT_POINT_DEPTH));
+    }
+  }
+
+  @Test
+  @DisplayName("스트림 일괄 생성 개수가 범위를 벗어나면 예외 발생")
+  void createStreamsInvalidCount() {
+    assertThatThrownBy(() -> streamService.createStreams(0))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> streamService.createStreams(StreamConstants.MAX_CREATE_COUNT + 1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
   @Test
   @DisplayName("스트림 조회")
   void getStream() {
@@ -127,6 +160,22 @@ class StreamServiceIntegrationTest extends IntegrationTestBase {
       assertThat(result.get(0).branchNum()).isEqualTo(StreamConstants.INITIAL_BRANCH_NUM);
     }
 
+    @Test
+    @DisplayName("가장 최근에 포인트를 추가한 브랜치를 따라간다")
+    void followsLatestBranch() {
+      PointDto.Response a = pointService.pointDown(rootPoint.getId(), "a");
+      PointDto.Response b = pointService.pointDown(rootPoint.getId(), "b");
+      pointService.pointDown(a.id(), "c");
+
+      assertThat(streamService.getStreamPoints(streamId))
+          .extracting(PointDto.Response::itemId).containsExactly(null, "a", "c");
+
+      pointService.pointDown(b.id(), "d");
+
+      assertThat(streamService.getStreamPoints(streamId))
+          .extracting(PointDto.Response::itemId).containsExactly(null, "b", "d");
+    }
+
     @Test
     @DisplayName("존재하지 않는 스트림 조회 시 예외 발생")
     void notFound() {
@@ -165,6 +214,19 @@ class StreamServiceIntegrationTest extends IntegrationTestBase {
           .isInstanceOf(IllegalArgumentException.class);
     }
 
+    @Test
+    @DisplayName("브랜치가 끝난 depth 이후로는 조상 브랜치에 이어진 포인트를 반환하지 않는다")
+    void excludesAncestorContinuation() {
+      Long rootId = branch.getPoints().get(0).getId();
+      PointDto.Response a = pointService.pointDown(rootId, "a");
+      PointDto.Response b = pointService.pointDown(rootId, "b");
+      pointService.pointDown(pointService.pointDown(a.id(), "a2").id(), "a3");
+
+      List<PointDto.Response> result = streamService.getBranchMessages(streamId, b.branchNum(), b.depth());
+
+      assertThat(result).isEmpty();
+    }
+
     @Test
     @DisplayName("depth 이후 포인트만 조회")
     void withDepth() {
@@ -189,4 +251,252 @@ class StreamServiceIntegrationTest extends IntegrationTestBase {
       assertThat(result).allMatch(p -> p.id().equals(point2.getId()));
     }
   }
+
+  @Nested
+  @DisplayName("커서 기반 조회")
+  class CursorTests {
+
+    private Long streamId;
+    private List<PointDto.Response> path;
+
+    /** 루트 - 1..5 (브랜치 0) - 6..10 (depth 3에서 분기한 브랜치) 경로를 만든다. */
+    @BeforeEach
+    void setUp() {
+      streamId = streamService.createStream().id();
+      Long rootId = streamRepository.findById(streamId).orElseThrow()
+          .getBranches().get(0).getPoints().get(0).getId();
+      List<PointDto.Response> main = pointService.pointDownBatch(rootId, List.of("1", "2", "3", "4", "5"));
+      pointService.pointDownBatch(main.get(2).id(), List.of("6", "7", "8", "9", "10"));
+      path = streamService.getStreamPoints(streamId);
+    }
+
+    @Test
+    @DisplayName("커서 없이 limit만 지정하면 가장 최근 limit개와 이전 페이지 커서를 반환한다")
+    void latest() {
+      PointDto.Page page = streamService.getStreamPoints(streamId, new PointDto.Cursor(null, null, 3));
+
+      assertThat(page.items()).extracting(PointDto.Response::itemId).containsExactly("8", "9", "10");
+      assertThat(page.nextBeforeDepth()).isEqualTo(page.items().get(0).depth());
+      assertThat(page.nextAfterDepth()).isNull();
+    }
+
+    @Test
+    @DisplayName("nextBeforeDepth를 따라가면 경로 전체를 빠짐없이 읽는다")
+    void backward() {
+      List<PointDto.Response> read = new ArrayList<>();
+      Integer beforeDepth = null;
+      do {
+        PointDto.Page page = streamService.getStreamPoints(streamId, new PointDto.Cursor(null, beforeDepth, 3));
+        read.addAll(0, page.items());
+        beforeDepth = page.nextBeforeDepth();
+      } while (beforeDepth != null);
+
+      assertThat(read).extracting(PointDto.Response::id)
+          .containsExactlyElementsOf(path.stream().map(PointDto.Response::id).toList());
+    }
+
+    @Test
+    @DisplayName("nextAfterDepth를 따라가면 경로 전체를 빠짐없이 읽는다")
+    void forward() {
+      List<PointDto.Response> read = new ArrayList<>();
+      Integer afterDepth = -1;
+      do {
+        PointDto.Page page = streamService.getStreamPoints(streamId, new PointDto.Cursor(afterDepth, null, 4));
+        read.addAll(page.items());
+        afterDepth = page.nextAfterDepth();
+      } while (afterDepth != null);
+
+      assertThat(read).extracting(PointDto.Response::id)
+          .containsExactlyElementsOf(path.stream().map(PointDto.Response::id).toList());
+    }
+
+    @Test
+    @DisplayName("afterDepth와 beforeDepth를 함께 지정하면 그 사이에서 최근 limit개를 반환한다")
+    void between() {
+      BranchEntity main = branchRepository.findById(new BranchId(streamId, StreamConstants.INITIAL_BRANCH_NUM))
+          .orElseThrow();
+
+      PointDto.Page page = streamService.getBranchMessages(
+          streamId, main.getBranchNum(), 0, new PointDto.Cursor(1, 5, 10));
+
+      assertThat(page.items()).extracting(PointDto.Response::itemId).containsExactly("2", "3", "4");
+      assertThat(page.nextBeforeDepth()).isNull();
+    }
+
+    @Test
+    @DisplayName("limit이 범위를 벗어나면 예외 발생")
+    void invalidLimit() {
+      assertThatThrownBy(() -> streamService.getStreamPoints(streamId, new PointDto.Cursor(null, null, 0)))
+          .isInstanceOf(IllegalArgumentException.class);
+      assertThatThrownBy(() -> streamService.getStreamPoints(
+          streamId, new PointDto.Cursor(null, null, StreamConstants.MAX_PAGE_LIMIT + 1)))
+          .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("커서 depth가 초기 브랜치의 분기 depth보다 작으면 예외 발생")
+    void invalidDepth() {
+      int below = StreamConstants.INITIAL_BRANCH_FORK_DEPTH - 1;
+
+      assertThatThrownBy(() -> streamService.getStreamPoints(streamId, new PointDto.Cursor(below, null, 10)))
+          .isInstanceOf(IllegalArgumentException.class);
+      assertThatThrownBy(() -> streamService.getStreamPoints(streamId, new PointDto.Cursor(null, below, 10)))
+          .isInstanceOf(IllegalArgumentException.class);
+      assertThatThrownBy(() -> streamService.getStreamPoints(streamId, new PointDto.Cursor(Integer.MIN_VALUE, 3, 10)))
+          .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("커서 depth가 int 최댓값 근처여도 넘치지 않고 조회한다")
+    void extremeDepth() {
+      PointDto.Page after = streamService.getStreamPoints(
+          streamId, new PointDto.Cursor(Integer.MAX_VALUE - 1, null, StreamConstants.MAX_PAGE_LIMIT));
+      PointDto.Page before = streamService.getStreamPoints(
+          streamId, new PointDto.Cursor(null, Integer.MAX_VALUE, 2));
+
+      assertThat(after.items()).isEmpty();
+      assertThat(after.nextAfterDepth()).isNull();
+      assertThat(before.items()).extracting(PointDto.Response::itemId).containsExactly("9", "10");
+    }
+  }
+
+  @Nested
+  @DisplayName("exportPoints")
+  class ExportPointsTests {
+
+    private Long streamId;
+
+    @BeforeEach
+    void setUp() {
+      streamId = streamService.createStream().id();
+      Long rootId = streamRepository.findById(streamId).orElseThrow()
+          .getBranches().get(0).getPoints().get(0).getId();
+      List<PointDto.Response> main = pointService.pointDownBatch(rootId, List.of("1", "2", "3"));
+      pointService.pointDownBatch(main.get(0).id(), List.of("4", "5"));
+    }
+
+    @Test
+    @DisplayName("path는 getStreamPoints와 같은 포인트를 같은 순서로 내보낸다")
+    void path() {
+      List<PointDto.Response> exported = new ArrayList<>();
+      streamService.exportPoints(streamId, StreamDto.ExportView.PATH, exported::add);
+
+      assertThat(exported).usingRecursiveFieldByFieldElementComparator()
+          .containsExactlyElementsOf(streamService.getStreamPoints(streamId));
+    }
+
+    @Test
+    @DisplayName("tree는 모든 브랜치의 포인트를 branchNum, depth 순으로 내보낸다")
+    void tree() {
+      List<PointDto.Response> exported = new ArrayList<>();
+      streamService.exportPoints(streamId, StreamDto.ExportView.TREE, exported::add);
+
+      assertThat(exported).extracting(PointDto.Response::itemId)
+          .containsExactly(null, "1", "2", "3", "4", "5");
+      assertThat(exported).extracting(PointDto.Response::branchNum)
+          .containsExactly(0, 0, 0, 0, 1, 1);
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 스트림은 예외 발생")
+    void notFound() {
+      assertThatThrownBy(() -> streamService.exportPoints(999999L, StreamDto.ExportView.TREE, point -> {
+      })).isInstanceOf(NoSuchElementException.class);
+    }
+  }
+
+  @Nested
+  @DisplayName("getTree")
+  class GetTreeTests {
+
+    private Long streamId;
+    private Long rootId;
+    private List<PointDto.Response> main;
+    private List<PointDto.Response> forked;
+    private PointDto.Response nested;
+    private PointDto.Response fromRoot;
+
+    /** 브랜치 0: 루트-1-2-3, 브랜치 1: 1에서 분기한 4-5, 브랜치 2: 4에서 분기한 6, 브랜치 3: 루트에서 분기한 7 */
+    @BeforeEach
+    void setUp() {
+      streamId = streamService.createStream().id();
+      rootId = streamService.getStreamPoints(streamId).getFirst().id();
+      main = pointService.pointDownBatch(rootId, List.of("1", "2", "3"));
+      forked = pointService.pointDownBatch(main.get(0).id(), List.of("4", "5"));
+      nested = pointService.pointDown(forked.get(0).id(), "6");
+      fromRoot = pointService.pointDown(rootId, "7");
+    }
+
+    @Test
+    @DisplayName("모든 브랜치와 포인트를 부모 포인트와 함께 반환한다")
+    void wholeTree() {
+      StreamDto.Tree tree = streamService.getTree(streamId, StreamConstants.INITIAL_BRANCH_NUM, null);
+
+      assertThat(tree.branches()).containsExactly(
+          new StreamDto.TreeBranch(0, null, -1),
+          new StreamDto.TreeBranch(1, 0, 1),
+          new StreamDto.TreeBranch(2, 1, 2),
+          new StreamDto.TreeBranch(3, 0, 0));
+      assertThat(tree.points()).extracting(StreamDto.TreeNode::itemId)
+          .containsExactly(null, "1", "2", "3", "4", "5", "6", "7");
+      assertThat(parents(tree)).containsEntry(rootId, null)
+          .containsEntry(forked.get(0).id(), main.get(0).id())
+          .containsEntry(nested.id(), forked.get(0).id())
+          .containsEntry(fromRoot.id(), rootId);
+    }
+
+    @Test
+    @DisplayName("각 브랜치의 마지막 포인트에서 부모를 따라가면 getBranchMessages와 같은 경로가 된다")
+    void parentsMatchBranchPaths() {
+      StreamDto.Tree tree = streamService.getTree(streamId, StreamConstants.INITIAL_BRANCH_NUM, null);
+      Map<Long, Long> parents = parents(tree);
+
+      for (StreamDto.TreeBranch branch : tree.branches()) {
+        List<Long> expected = streamService.getBranchMessages(streamId, branch.branchNum(), -1).stream()
+            .map(PointDto.Response::id).toList();
+        List<Long> path = new ArrayList<>();
+        for (Long id = expected.getLast(); id != null; id = parents.get(id)) {
+          path.addFirst(id);
+        }
+        assertThat(path).containsExactlyElementsOf(expected);
+      }
+    }
+
+    @Test
+    @DisplayName("maxDepth 이하의 포인트와 그 안에서 분기한 브랜치만 반환한다")
+    void maxDepth() {
+      StreamDto.Tree tree = streamService.getTree(streamId, StreamConstants.INITIAL_BRANCH_NUM, 1);
+
+      assertThat(tree.branches()).extracting(StreamDto.TreeBranch::branchNum).containsExactly(0, 3);
+      assertThat(tree.points()).extracting(StreamDto.TreeNode::itemId).containsExactly(null, "1", "7");
+    }
+
+    @Test
+    @DisplayName("branchNum을 지정하면 해당 브랜치와 하위 브랜치만 반환하고, 범위 밖의 부모는 null이다")
+    void subtree() {
+      StreamDto.Tree tree = streamService.getTree(streamId, forked.get(0).branchNum(), null);
+
+      assertThat(tree.branches()).extracting(StreamDto.TreeBranch::branchNum).containsExactly(1, 2);
+      assertThat(tree.points()).extracting(StreamDto.TreeNode::itemId).containsExactly("4", "5", "6");
+      assertThat(parents(tree)).containsEntry(forked.get(0).id(), null)
+          .containsEntry(nested.id(), forked.get(0).id());
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 스트림, 브랜치, 음수 maxDepth는 예외 발생")
+    void invalid() {
+      assertThatThrownBy(() -> streamService.getTree(999999L, 0, null))
+          .isInstanceOf(NoSuchElementException.class);
+      assertThatThrownBy(() -> streamService.getTree(streamId, 99, null))
+          .isInstanceOf(IllegalArgumentException.class);
+      assertThatThrownBy(() -> streamService.getTree(streamId, 0, -1))
+          .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Map<Long, Long> parents(StreamDto.Tree tree) {
+      Map<Long, Long> parents = new HashMap<>();
+      tree.points().forEach(point -> parents.put(point.id(), point.parentId()));
+      return parents;
+    }
+  }
 }
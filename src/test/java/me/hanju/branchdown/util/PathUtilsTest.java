@@ -0,0 +1,63 @@
+package me.hanju.branchdown.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * PathUtils 단위 테스트
+ *
+ * <p>직접 구현한 파서/직렬화가 split/Stream 기반 구현과 같은 결과와 예외를 내는지 확인합니다.</p>
+ */
+@DisplayName("PathUtils 단위 테스트")
+class PathUtilsTest {
+
+  @Test
+  @DisplayName("쉼표로 구분된 문자열을 int 배열로 변환한다")
+  void parse() {
+    assertThat(PathUtils.parse("")).isEmpty();
+    assertThat(PathUtils.parse("7")).containsExactly(7);
+    assertThat(PathUtils.parse("0,12,345,2147483647")).containsExactly(0, 12, 345, Integer.MAX_VALUE);
+    assertThat(PathUtils.parse("-1,-2147483648")).containsExactly(-1, Integer.MIN_VALUE);
+  }
+
+  @ParameterizedTest(name = "\"{0}\"")
+  @ValueSource(strings = { ",", "1,", ",1", "1,,2", "a", "1, 2", "-", "1-2", "--1", "2147483648", "-2147483649" })
+  @DisplayName("형식이 올바르지 않으면 IllegalArgumentException이 발생한다")
+  void parseInvalid(String path) {
+    assertThatThrownBy(() -> PathUtils.parse(path)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  @DisplayName("int 배열을 쉼표로 구분된 문자열로 변환한다")
+  void format() {
+    assertThat(PathUtils.format(new int[0])).isEmpty();
+    assertThat(PathUtils.format(new int[] { 0, 9, 10, 99, 100, 1_000_000_000 })).isEqualTo("0,9,10,99,100,1000000000");
+    assertThat(PathUtils.format(new int[] { -1, Integer.MIN_VALUE, Integer.MAX_VALUE }))
+        .isEqualTo("-1,-2147483648,2147483647");
+  }
+
+  @Test
+  @DisplayName("format한 문자열을 parse하면 원래 배열이 된다")
+  void roundTrip() {
+    Random random = new Random(42);
+    for (int i = 0; i < 1000; i++) {
+      int[] values = random.ints(random.nextInt(20)).toArray();
+
+      assertThat(PathUtils.parse(PathUtils.format(values))).containsExactly(values);
+    }
+  }
+
+  @Test
+  @DisplayName("문자열 경로에 값을 추가한다")
+  void appendString() {
+    assertThat(PathUtils.append("", 3)).isEqualTo("3");
+    assertThat(PathUtils.append("0,1", 12)).isEqualTo("0,1,12");
+  }
+}